@@ -1,14 +1,355 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Properties;
+import java.util.function.Supplier;
 
 /**
  * Application entry point that demonstrates data structures functionality.
  */
 public class Main {
+    // Relative frequency of ADD, GET, REMOVE, INSERT, EXTRACT_MIN in generated traces, as a single phase
+    private static final int[][] DEFAULT_MIX = {{40, 25, 15, 10, 10}};
+
+    // Nodes kept for reuse by the pooled queue and stack targets
+    private static final int BENCHMARK_NODE_POOL = 1024;
+
+    // Marks a process started by the benchmark to measure a single target
+    private static final String FORK_OPTION = "--fork-target";
+
+    // Prefixes of the lines a fork reports back
+    private static final String SAMPLE_PREFIX = "SAMPLE ";
+    private static final String CHECKSUM_PREFIX = "CHECKSUM ";
+
+    // Structures replayed by the benchmark, see benchmarkTarget
+    private static final String[] BENCHMARK_TARGETS = {
+        "MyArrayList", "MyLinkedList", "MyGapBufferList", "MyRingBufferList",
+        "MyRopeList", "MyAdaptiveList", "MyQueue", "MyQueuePooled", "MyStack", "MyStackPooled", "MyMinHeap"
+    };
+
     public static void main(String[] args) {
+        // "bench [options]" runs the benchmark harness instead of the demo
+        if (args.length > 0 && args[0].equals("bench")) {
+            System.exit(runBenchmarks(args));
+        }
+        // "micro NAME" runs one of the head-to-head drivers in MyMicroBenchmarks
+        if (args.length > 0 && args[0].equals("micro")) {
+            if (args.length != 2) {
+                System.err.println("Usage: micro NAME");
+                System.exit(2);
+            }
+            System.exit(MyMicroBenchmarks.run(args[1]));
+        }
+
         // Test min heap implementation
         testMinHeap();
     }
 
+    /**
+     * Replays one workload trace against every data structure and prints the measurements.
+     * Each structure is measured in its own JVMs so their JIT profiles do not mix, over several
+     * rounds per JVM, and reported as the median. A result that looks like a regression is
+     * measured again and only fails the run if it regresses a second time.
+     * Options:
+     *   --trace FILE       replay a saved trace instead of generating one
+     *   --save-trace FILE  save the generated trace
+     *   --seed N           seed for the generated trace (default 42)
+     *   --ops N            length of the generated trace (default 50000)
+     *   --mix A,G,R,I,E    relative frequency of ADD, GET, REMOVE, INSERT, EXTRACT_MIN (default 40,25,15,10,10);
+     *                      several mixes joined by / run one after another in phases of equal length,
+     *                      e.g. 60,40,0,0,0/50,0,0,0,50/20,50,0,30,0 (grow, drain like a queue, then insert)
+     *   --warmup N         unmeasured replays before the measured ones (default 5)
+     *   --rounds N         measured replays per JVM (default 5)
+     *   --forks N          JVMs per structure, 0 to measure in this JVM (default 3)
+     *   --baseline FILE    compare with this baseline, or write it with --record
+     *   --record           store the results as the new baseline
+     *   --tolerance X      smallest allowed relative regression (default 0.10)
+     *
+     * @return the process exit code: 0 on success, 1 on a regression, 2 on bad input
+     */
+    private static int runBenchmarks(String[] args) {
+        Path traceFile = null;
+        Path saveTraceFile = null;
+        Path baselineFile = null;
+        String forkTarget = null;
+        long seed = 42;
+        int operations = 50_000;
+        int[][] mix = DEFAULT_MIX;
+        int warmup = 5;
+        int rounds = 5;
+        int forks = 3;
+        boolean record = false;
+        double tolerance = 0.10;
+
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--trace":
+                        traceFile = Paths.get(args[++i]);
+                        break;
+                    case "--save-trace":
+                        saveTraceFile = Paths.get(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--ops":
+                        operations = Integer.parseInt(args[++i]);
+                        break;
+                    case "--mix":
+                        String[] phases = args[++i].split("/");
+                        mix = new int[phases.length][];
+                        for (int p = 0; p < phases.length; p++) {
+                            String[] weights = phases[p].split(",");
+                            mix[p] = new int[weights.length];
+                            for (int w = 0; w < weights.length; w++) {
+                                mix[p][w] = Integer.parseInt(weights[w].trim());
+                            }
+                        }
+                        break;
+                    case "--warmup":
+                        warmup = Integer.parseInt(args[++i]);
+                        break;
+                    case "--rounds":
+                        rounds = Integer.parseInt(args[++i]);
+                        break;
+                    case "--forks":
+                        forks = Integer.parseInt(args[++i]);
+                        break;
+                    case "--baseline":
+                        baselineFile = Paths.get(args[++i]);
+                        break;
+                    case "--record":
+                        record = true;
+                        break;
+                    case "--tolerance":
+                        tolerance = Double.parseDouble(args[++i]);
+                        break;
+                    case FORK_OPTION:
+                        forkTarget = args[++i];
+                        break;
+                    default:
+                        System.err.println("Unknown option: " + args[i]);
+                        return 2;
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println("Invalid benchmark options: " + e.getMessage());
+            return 2;
+        }
+        if (record && baselineFile == null) {
+            System.err.println("--record needs --baseline FILE");
+            return 2;
+        }
+        if (operations < 0 || warmup < 0 || forks < 0 || !(tolerance >= 0)) {
+            System.err.println("--ops, --warmup, --forks and --tolerance cannot be negative");
+            return 2;
+        }
+        if (rounds < 1) {
+            System.err.println("--rounds must be at least 1");
+            return 2;
+        }
+
+        Path forkTraceFile = null;
+        try {
+            MyWorkloadTrace trace = traceFile != null
+                    ? MyWorkloadTrace.load(traceFile)
+                    : MyWorkloadTrace.generate(seed, operations, mix);
+            MyBenchmarkHarness harness = new MyBenchmarkHarness(warmup);
+
+            if (forkTarget != null) {
+                // Running as a fork of another benchmark process: report the raw rounds
+                for (MyBenchmarkHarness.Result sample : harness.run(forkTarget, benchmarkTarget(forkTarget), trace, rounds)) {
+                    System.out.println(SAMPLE_PREFIX + sample.toLine());
+                }
+                System.out.println(CHECKSUM_PREFIX + harness.getChecksum());
+                return 0;
+            }
+
+            if (saveTraceFile != null) {
+                trace.save(saveTraceFile);
+            }
+            if (forks > 0) {
+                // Forks read the exact same trace from a file
+                forkTraceFile = Files.createTempFile("workload", ".trace");
+                trace.save(forkTraceFile);
+            }
+
+            BenchmarkRun run = new BenchmarkRun(harness, trace, forkTraceFile, warmup, rounds, forks);
+            MyBenchmarkHarness.Result[] results = new MyBenchmarkHarness.Result[BENCHMARK_TARGETS.length];
+            for (int i = 0; i < BENCHMARK_TARGETS.length; i++) {
+                results[i] = run.measure(BENCHMARK_TARGETS[i]);
+                System.out.println(results[i]);
+            }
+            System.out.println("Checksum: " + run.checksum);
+
+            if (baselineFile == null) {
+                return 0;
+            }
+            if (record) {
+                MyBenchmarkHarness.saveBaseline(baselineFile, results);
+                System.out.println("Baseline written to " + baselineFile);
+                return 0;
+            }
+
+            Properties baseline = MyBenchmarkHarness.loadBaseline(baselineFile);
+            boolean regressed = false;
+            for (MyBenchmarkHarness.Result result : results) {
+                if (MyBenchmarkHarness.findRegressions(baseline, result, tolerance).length == 0) {
+                    continue;
+                }
+                // Repeat before failing, so one noisy measurement cannot fail the run
+                MyBenchmarkHarness.Result repeated = run.measure(result.getName());
+                System.out.println("Re-measured " + repeated);
+                for (String regression : MyBenchmarkHarness.findRegressions(baseline, repeated, tolerance)) {
+                    System.out.println("REGRESSION " + regression);
+                    regressed = true;
+                }
+            }
+            return regressed ? 1 : 0;
+        } catch (IOException e) {
+            System.err.println("Benchmark I/O failed: " + e.getMessage());
+            return 2;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid benchmark input: " + e.getMessage());
+            return 2;
+        } finally {
+            if (forkTraceFile != null) {
+                try {
+                    Files.deleteIfExists(forkTraceFile);
+                } catch (IOException e) {
+                    System.err.println("Could not delete " + forkTraceFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures benchmark targets, either in this JVM or in forked ones
+     */
+    private static final class BenchmarkRun {
+        private final MyBenchmarkHarness harness;
+        private final MyWorkloadTrace trace;
+        private final Path traceFile;
+        private final int warmup;
+        private final int rounds;
+        private final int forks;
+
+        // Combined checksum of every replay, in this JVM and in the forks
+        long checksum;
+
+        BenchmarkRun(MyBenchmarkHarness harness, MyWorkloadTrace trace, Path traceFile,
+                     int warmup, int rounds, int forks) {
+            this.harness = harness;
+            this.trace = trace;
+            this.traceFile = traceFile;
+            this.warmup = warmup;
+            this.rounds = rounds;
+            this.forks = forks;
+        }
+
+        /**
+         * Returns the median of all measured rounds of the target
+         */
+        MyBenchmarkHarness.Result measure(String name) throws IOException {
+            if (forks == 0) {
+                long before = harness.getChecksum();
+                MyBenchmarkHarness.Result[] samples = harness.run(name, benchmarkTarget(name), trace, rounds);
+                checksum += harness.getChecksum() - before;
+                return MyBenchmarkHarness.summarize(name, samples);
+            }
+
+            MyBenchmarkHarness.Result[] samples = new MyBenchmarkHarness.Result[forks * rounds];
+            int count = 0;
+            for (int fork = 0; fork < forks; fork++) {
+                for (String line : runFork(name)) {
+                    if (line.startsWith(SAMPLE_PREFIX) && count < samples.length) {
+                        samples[count++] = MyBenchmarkHarness.Result.parse(line.substring(SAMPLE_PREFIX.length()));
+                    } else if (line.startsWith(CHECKSUM_PREFIX)) {
+                        checksum += Long.parseLong(line.substring(CHECKSUM_PREFIX.length()));
+                    }
+                }
+            }
+            if (count != samples.length) {
+                throw new IOException("Forks of " + name + " reported " + count + " of " + samples.length + " rounds");
+            }
+            return MyBenchmarkHarness.summarize(name, samples);
+        }
+
+        /**
+         * Runs one fresh JVM that measures the target and returns its output lines
+         */
+        private String[] runFork(String name) throws IOException {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    "Main", "bench", FORK_OPTION, name, "--trace", traceFile.toString(),
+                    "--warmup", Integer.toString(warmup), "--rounds", Integer.toString(rounds));
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            Process process = builder.start();
+
+            String[] lines = new String[rounds + 1];
+            int count = 0;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (count == lines.length) {
+                        lines = Arrays.copyOf(lines, count * 2);
+                    }
+                    lines[count++] = line;
+                }
+            }
+            try {
+                int exitCode = process.waitFor();
+                if (exitCode != 0) {
+                    throw new IOException("Fork measuring " + name + " exited with " + exitCode);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the fork measuring " + name, e);
+            }
+            return Arrays.copyOf(lines, count);
+        }
+    }
+
+    /**
+     * Returns a factory of fresh instances of the named benchmark target
+     */
+    private static Supplier<MyBenchmarkHarness.Target> benchmarkTarget(String name) {
+        switch (name) {
+            case "MyArrayList":
+                return () -> MyBenchmarkHarness.forList(new MyArrayList<>());
+            case "MyLinkedList":
+                return () -> MyBenchmarkHarness.forList(new MyLinkedList<>());
+            case "MyGapBufferList":
+                return () -> MyBenchmarkHarness.forList(new MyGapBufferList<>());
+            case "MyRingBufferList":
+                return () -> MyBenchmarkHarness.forList(new MyRingBufferList<>());
+            case "MyRopeList":
+                return () -> MyBenchmarkHarness.forList(new MyRopeList<>());
+            case "MyAdaptiveList":
+                return () -> MyBenchmarkHarness.forList(new MyAdaptiveList<>());
+            case "MyQueue":
+                return () -> MyBenchmarkHarness.forQueue(new MyQueue<>());
+            case "MyQueuePooled":
+                return () -> MyBenchmarkHarness.forQueue(new MyQueue<>(BENCHMARK_NODE_POOL));
+            case "MyStack":
+                return () -> MyBenchmarkHarness.forStack(new MyStack<>());
+            case "MyStackPooled":
+                return () -> MyBenchmarkHarness.forStack(new MyStack<>(BENCHMARK_NODE_POOL));
+            case "MyMinHeap":
+                return () -> MyBenchmarkHarness.forHeap(new MyMinHeap<>());
+            default:
+                throw new IllegalArgumentException("Unknown benchmark target: " + name);
+        }
+    }
+
     /**
      * Demonstrates the functionality of the min heap implementation
      */
@@ -0,0 +1,324 @@
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * A list that picks its own representation from the way it is used.
+ * It counts the operations it receives, and after every window of operations it estimates
+ * what that mix would have cost on an array and on a ring buffer. When the other
+ * representation would have saved more than the cost of copying the elements over,
+ * the elements are migrated to it.
+ *
+ * A linked list is not a candidate: MyList only offers indexed inserts and removes, and
+ * MyLinkedList walks to the index before it relinks, which always costs more than the ring
+ * buffer's shift from the nearer end. The cost constants come from "java Main micro adaptive".
+ * @param <T> the type of elements stored in this list
+ */
+public class MyAdaptiveList<T extends Comparable<T>> implements MyList<T> {
+    /**
+     * Storage layouts the list can switch between
+     */
+    public enum Representation {
+        ARRAY,
+        RING_BUFFER
+    }
+
+    // Number of operations between two evaluations of the cost model
+    private static final int WINDOW = 1024;
+
+    // Savings must exceed the migration cost by this factor, so the list does not flip back and forth
+    private static final double HYSTERESIS = 2.0;
+
+    // Costs relative to one MyArrayList.get, measured with "java Main micro adaptive"
+
+    // Moving one array element with arraycopy
+    private static final double SHIFT_COST = 0.05;
+
+    // Moving one ring buffer element, which goes slot by slot to wrap around the end
+    private static final double RING_SHIFT_COST = 0.85;
+
+    // Visiting one element while scanning an array
+    private static final double SCAN_COST = 0.5;
+
+    // Extra cost of ring buffer access for wrapping the index around
+    private static final double WRAP_FACTOR = 1.3;
+
+    // Copying one element during a migration, including growing the new storage
+    private static final double MIGRATION_COST = 5.0;
+
+    // Current storage
+    private MyList<T> delegate;
+
+    // Layout of the current storage
+    private Representation representation;
+
+    // Operation counts in the current window
+    private int indexedAccesses;
+    private int frontUpdates;
+    private int backUpdates;
+    private int middleUpdates;
+    private int scans;
+
+    // Metrics
+    private int migrationCount;
+    private final double[] lastCosts = new double[Representation.values().length];
+
+    /**
+     * Creates an empty list that starts as an array
+     */
+    public MyAdaptiveList() {
+        this(Representation.ARRAY);
+    }
+
+    /**
+     * Creates an empty list that starts with the given representation
+     */
+    public MyAdaptiveList(Representation initial) {
+        if (initial == null) {
+            throw new IllegalArgumentException("Representation cannot be null");
+        }
+        representation = initial;
+        delegate = create(initial);
+    }
+
+    private MyList<T> create(Representation target) {
+        return target == Representation.RING_BUFFER ? new MyRingBufferList<>() : new MyArrayList<>();
+    }
+
+    /**
+     * Returns the representation currently in use
+     */
+    public Representation getRepresentation() {
+        return representation;
+    }
+
+    /**
+     * Returns how many times the list has changed representation
+     */
+    public int getMigrationCount() {
+        return migrationCount;
+    }
+
+    /**
+     * Returns the estimated cost of the last evaluated window on the given representation
+     */
+    public double getLastEstimatedCost(Representation target) {
+        return lastCosts[target.ordinal()];
+    }
+
+    /**
+     * Records one operation and re-evaluates the representation at the end of each window
+     */
+    private void recordOperation() {
+        if (indexedAccesses + frontUpdates + backUpdates + middleUpdates + scans >= WINDOW) {
+            evaluate();
+        }
+    }
+
+    /**
+     * Records an indexed operation, classifying inserts and removes by where they land
+     */
+    private void recordIndexed(int index, boolean update) {
+        int size = delegate.size();
+        if (!update) {
+            indexedAccesses++;
+        } else if (index == 0) {
+            frontUpdates++;
+        } else if (index >= size - 1) {
+            backUpdates++;
+        } else {
+            middleUpdates++;
+        }
+        recordOperation();
+    }
+
+    /**
+     * Estimates the cost of the window's operation mix on the given representation
+     */
+    private double estimateCost(Representation target, int size) {
+        // Array middle updates shift half the list; the ring buffer works from the nearer end,
+        // so a quarter on average
+        double half = size / 2.0;
+        double quarter = size / 4.0;
+        if (target == Representation.ARRAY) {
+            return indexedAccesses
+                    + frontUpdates * (1 + size * SHIFT_COST)
+                    + backUpdates
+                    + middleUpdates * (1 + half * SHIFT_COST)
+                    + scans * size * SCAN_COST;
+        }
+        return indexedAccesses * WRAP_FACTOR
+                + frontUpdates
+                + backUpdates
+                + middleUpdates * (1 + quarter * RING_SHIFT_COST)
+                + scans * size * SCAN_COST * WRAP_FACTOR;
+    }
+
+    /**
+     * Runs the cost model on the finished window and migrates if another layout pays off
+     */
+    private void evaluate() {
+        int size = delegate.size();
+        Representation best = representation;
+        for (Representation candidate : Representation.values()) {
+            lastCosts[candidate.ordinal()] = estimateCost(candidate, size);
+            if (lastCosts[candidate.ordinal()] < lastCosts[best.ordinal()]) {
+                best = candidate;
+            }
+        }
+
+        double savings = lastCosts[representation.ordinal()] - lastCosts[best.ordinal()];
+        if (best != representation && savings > size * MIGRATION_COST * HYSTERESIS) {
+            migrate(best);
+        }
+
+        indexedAccesses = 0;
+        frontUpdates = 0;
+        backUpdates = 0;
+        middleUpdates = 0;
+        scans = 0;
+    }
+
+    /**
+     * Copies all elements into a new representation
+     */
+    private void migrate(Representation target) {
+        MyList<T> replacement = create(target);
+        for (T value : delegate) {
+            replacement.add(value);
+        }
+        delegate = replacement;
+        representation = target;
+        migrationCount++;
+    }
+
+    @Override
+    public void add(T item) {
+        backUpdates++;
+        recordOperation();
+        delegate.add(item);
+    }
+
+    @Override
+    public void set(int index, T item) {
+        recordIndexed(index, false);
+        delegate.set(index, item);
+    }
+
+    @Override
+    public void add(int index, T item) {
+        recordIndexed(index, true);
+        delegate.add(index, item);
+    }
+
+    @Override
+    public void addFirst(T item) {
+        frontUpdates++;
+        recordOperation();
+        delegate.addFirst(item);
+    }
+
+    @Override
+    public void addLast(T item) {
+        add(item);
+    }
+
+    @Override
+    public T get(int index) {
+        recordIndexed(index, false);
+        return delegate.get(index);
+    }
+
+    @Override
+    public T getFirst() {
+        return delegate.getFirst();
+    }
+
+    @Override
+    public T getLast() {
+        return delegate.getLast();
+    }
+
+    @Override
+    public void remove(int index) {
+        recordIndexed(index, true);
+        delegate.remove(index);
+    }
+
+    @Override
+    public void removeFirst() {
+        frontUpdates++;
+        recordOperation();
+        delegate.removeFirst();
+    }
+
+    @Override
+    public void removeLast() {
+        backUpdates++;
+        recordOperation();
+        delegate.removeLast();
+    }
+
+    @Override
+    public void sort() {
+        delegate.sort();
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        delegate.sort(comparator);
+    }
+
+    @Override
+    public int indexOf(Object target) {
+        scans++;
+        recordOperation();
+        return delegate.indexOf(target);
+    }
+
+    @Override
+    public int lastIndexOf(Object target) {
+        scans++;
+        recordOperation();
+        return delegate.lastIndexOf(target);
+    }
+
+    @Override
+    public boolean exists(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return delegate.toArray();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public long memoryFootprint() {
+        // Header + delegate and representation references + counters + the cost array
+        return MyMemoryEstimator.objectSize(3 * MyMemoryEstimator.REFERENCE + 6 * 4)
+                + MyMemoryEstimator.arraySize(lastCosts.length, Double.BYTES)
+                + delegate.memoryFootprint();
+    }
+
+    @Override
+    public void compact() {
+        delegate.compact();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        scans++;
+        recordOperation();
+        return delegate.iterator();
+    }
+}
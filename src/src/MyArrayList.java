@@ -17,6 +17,13 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
     // Current number of elements
     private int currentSize;
 
+    // Unboxed copy of the elements for searching, built when every element is an Integer;
+    // null until built and after any change
+    private int[] intView;
+
+    // Searches since the last change; the view is built on the second one
+    private int searchesSinceChange;
+
     /**
      * Creates an empty list with default capacity
      */
@@ -49,6 +56,7 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
 
     @Override
     public void add(T element) {
+        modified();
         ensureCapacity();
         data[currentSize++] = element;
     }
@@ -56,12 +64,14 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
     @Override
     public void set(int position, T element) {
         validateIndex(position);
+        modified();
         data[position] = element;
     }
 
     @Override
     public void add(int position, T element) {
         validateIndexForInsertion(position);
+        modified();
         ensureCapacity();
 
         // Shift elements to make room
@@ -106,6 +116,7 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
     @Override
     public void remove(int position) {
         validateIndex(position);
+        modified();
 
         // Shift elements to fill the gap
         int numToMove = currentSize - position - 1;
@@ -130,6 +141,7 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
         if (isEmpty()) {
             throw new NoSuchElementException("List is empty");
         }
+        modified();
         data[--currentSize] = null;
     }
 
@@ -139,6 +151,7 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
         if (currentSize <= 1) {
             return;
         }
+        modified();
 
         // Create a temporary array of the actual elements
         T[] temp = (T[]) new Comparable[currentSize];
@@ -160,6 +173,7 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
         if (currentSize <= 1) {
             return;
         }
+        modified();
 
         // Create a temporary array of the actual elements
         T[] temp = (T[]) new Comparable[currentSize];
@@ -177,6 +191,10 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
 
     @Override
     public int indexOf(Object target) {
+        int[] view = target instanceof Integer ? intView() : null;
+        if (view != null) {
+            return MyIntSearch.indexOf(view, currentSize, (Integer) target);
+        }
         for (int i = 0; i < currentSize; i++) {
             if (data[i] != null && data[i].equals(target)) {
                 return i;
@@ -187,6 +205,10 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
 
     @Override
     public int lastIndexOf(Object target) {
+        int[] view = target instanceof Integer ? intView() : null;
+        if (view != null) {
+            return MyIntSearch.lastIndexOf(view, currentSize, (Integer) target);
+        }
         for (int i = currentSize - 1; i >= 0; i--) {
             if (data[i] != null && data[i].equals(target)) {
                 return i;
@@ -195,6 +217,34 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
         return -1;
     }
 
+    /**
+     * Returns the unboxed copy of the elements, or null if there is none.
+     * A list searched twice without changes in between gets a copy, so lists of numeric ids
+     * that are mostly read are searched on int[] with MyIntSearch. A list that keeps
+     * changing never pays for building one.
+     */
+    private int[] intView() {
+        if (intView == null && ++searchesSinceChange == 2) {
+            int[] view = new int[currentSize];
+            for (int i = 0; i < currentSize; i++) {
+                if (!(data[i] instanceof Integer)) {
+                    return null; // Not all Integers, keep using equals until the next change
+                }
+                view[i] = (Integer) data[i];
+            }
+            intView = view;
+        }
+        return intView;
+    }
+
+    /**
+     * Drops the unboxed copy after the elements change
+     */
+    private void modified() {
+        intView = null;
+        searchesSinceChange = 0;
+    }
+
     @Override
     public boolean exists(Object target) {
         return indexOf(target) >= 0;
@@ -207,6 +257,7 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
 
     @Override
     public void clear() {
+        modified();
         // Clear all references to help GC
         for (int i = 0; i < currentSize; i++) {
             data[i] = null;
@@ -219,6 +270,29 @@ public class MyArrayList<T extends Comparable<T>> implements MyList<T> {
         return currentSize;
     }
 
+    @Override
+    public long memoryFootprint() {
+        // Header + data and view references + size and search count, the arrays, and the elements
+        return MyMemoryEstimator.objectSize(2 * MyMemoryEstimator.REFERENCE + 2 * 4)
+                + MyMemoryEstimator.referenceArraySize(data.length)
+                + (intView != null ? MyMemoryEstimator.arraySize(intView.length, Integer.BYTES) : 0)
+                + MyMemoryEstimator.payloadSize(this);
+    }
+
+    /**
+     * Trims the backing array to the number of elements
+     */
+    @Override
+    public void compact() {
+        // The search copy is rebuilt on demand
+        modified();
+        // Keep at least one slot so doubling still works
+        int newCapacity = Math.max(currentSize, 1);
+        if (newCapacity < data.length) {
+            data = Arrays.copyOf(data, newCapacity);
+        }
+    }
+
     /**
      * Checks if the list is empty
      */
@@ -0,0 +1,432 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Replays a MyWorkloadTrace against the data structures and measures throughput,
+ * per-operation latency percentiles and allocated bytes. A measurement is repeated over
+ * several rounds and summarized by its median, with the spread between rounds kept as its
+ * noise. Results can be stored as a baseline file and later compared against it to catch
+ * regressions larger than that noise.
+ */
+public class MyBenchmarkHarness {
+    /**
+     * Applies one trace operation to a structure. Returns a value derived from the result,
+     * which the harness accumulates so the JIT cannot drop the work.
+     */
+    public interface Target {
+        long apply(MyWorkloadTrace.Operation operation, int value);
+    }
+
+    // A regression must exceed the baseline's noise by this factor before it counts
+    private static final double NOISE_MARGIN = 3.0;
+
+    // Largest allowed relative regression however noisy the baseline was
+    private static final double MAX_ALLOWANCE = 0.5;
+
+    /**
+     * Measurements of one replay, or the medians of several
+     */
+    public static final class Result {
+        private final String name;
+        private final int operations;
+        private final double throughput;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long allocatedBytes;
+        private final double throughputNoise;
+        private final double p99Noise;
+
+        Result(String name, int operations, double throughput, long p50, long p99, long p999, long allocatedBytes) {
+            this(name, operations, throughput, p50, p99, p999, allocatedBytes, 0, 0);
+        }
+
+        Result(String name, int operations, double throughput, long p50, long p99, long p999, long allocatedBytes,
+               double throughputNoise, double p99Noise) {
+            this.name = name;
+            this.operations = operations;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.allocatedBytes = allocatedBytes;
+            this.throughputNoise = throughputNoise;
+            this.p99Noise = p99Noise;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Operations per second */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        /** Median latency in nanoseconds */
+        public long getP50() {
+            return p50;
+        }
+
+        /** 99th percentile latency in nanoseconds */
+        public long getP99() {
+            return p99;
+        }
+
+        /** 99.9th percentile latency in nanoseconds */
+        public long getP999() {
+            return p999;
+        }
+
+        /** Bytes allocated by the measured replay, or -1 if the JVM cannot tell */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /** Median relative deviation of the throughput between rounds, 0 for a single replay */
+        public double getThroughputNoise() {
+            return throughputNoise;
+        }
+
+        /** Median relative deviation of the p99 latency between rounds, 0 for a single replay */
+        public double getP99Noise() {
+            return p99Noise;
+        }
+
+        /**
+         * Formats the raw measurements as one line that parse() reads back
+         */
+        public String toLine() {
+            return name + " " + operations + " " + throughput + " " + p50 + " " + p99 + " " + p999 + " " + allocatedBytes;
+        }
+
+        /**
+         * Reads a line written by toLine()
+         */
+        public static Result parse(String line) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 7) {
+                throw new IllegalArgumentException("Malformed result line: " + line);
+            }
+            return new Result(parts[0], Integer.parseInt(parts[1]), Double.parseDouble(parts[2]),
+                    Long.parseLong(parts[3]), Long.parseLong(parts[4]), Long.parseLong(parts[5]), Long.parseLong(parts[6]));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-20s %10d ops %14.0f ops/s (+-%2.0f%%)  p50 %6d ns  p99 %7d ns (+-%2.0f%%)  p999 %8d ns  alloc %12d B",
+                    name, operations, throughput, throughputNoise * 100, p50, p99, p99Noise * 100, p999, allocatedBytes);
+        }
+    }
+
+    // Replays before the measured one, to let the JIT compile the code paths
+    private final int warmupRounds;
+
+    // Sink for the values returned by targets
+    private long checksum;
+
+    /**
+     * Creates a harness that warms up with the given number of replays
+     */
+    public MyBenchmarkHarness(int warmupRounds) {
+        if (warmupRounds < 0) {
+            throw new IllegalArgumentException("Warmup rounds cannot be negative");
+        }
+        this.warmupRounds = warmupRounds;
+    }
+
+    /**
+     * Replays the trace on fresh targets from the factory: first the warmup rounds, then one measured round
+     */
+    public Result run(String name, Supplier<Target> factory, MyWorkloadTrace trace) {
+        return run(name, factory, trace, 1)[0];
+    }
+
+    /**
+     * Replays the trace on fresh targets from the factory: first the warmup rounds,
+     * then the given number of measured rounds. Returns one result per measured round.
+     */
+    public Result[] run(String name, Supplier<Target> factory, MyWorkloadTrace trace, int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("At least one measured round is needed");
+        }
+        for (int round = 0; round < warmupRounds; round++) {
+            Target target = factory.get();
+            for (int i = 0; i < trace.length(); i++) {
+                checksum += target.apply(trace.operationAt(i), trace.valueAt(i));
+            }
+        }
+        Result[] results = new Result[rounds];
+        for (int round = 0; round < rounds; round++) {
+            results[round] = measure(name, factory.get(), trace);
+        }
+        return results;
+    }
+
+    /**
+     * Replays the trace once on the target and measures it
+     */
+    private Result measure(String name, Target target, MyWorkloadTrace trace) {
+        // Allocate the latency buffer before measuring allocations
+        long[] latencies = new long[trace.length()];
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < latencies.length; i++) {
+            long operationStart = System.nanoTime();
+            checksum += target.apply(trace.operationAt(i), trace.valueAt(i));
+            latencies[i] = System.nanoTime() - operationStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+
+        Arrays.sort(latencies);
+        double throughput = elapsed == 0 ? 0 : latencies.length * 1e9 / elapsed;
+        long allocated = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return new Result(name, latencies.length, throughput,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999), allocated);
+    }
+
+    /**
+     * Returns the combined value of all target results, so callers can keep it alive
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Combines the results of several rounds into their medians, with the median relative
+     * deviation of throughput and p99 latency as the noise
+     */
+    public static Result summarize(String name, Result[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("No samples for " + name);
+        }
+        double[] throughputs = new double[samples.length];
+        double[] p50s = new double[samples.length];
+        double[] p99s = new double[samples.length];
+        double[] p999s = new double[samples.length];
+        double[] allocations = new double[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            throughputs[i] = samples[i].throughput;
+            p50s[i] = samples[i].p50;
+            p99s[i] = samples[i].p99;
+            p999s[i] = samples[i].p999;
+            allocations[i] = samples[i].allocatedBytes;
+        }
+        double throughput = median(throughputs);
+        double p99 = median(p99s);
+        return new Result(name, samples[0].operations, throughput,
+                (long) median(p50s), (long) p99, (long) median(p999s), (long) median(allocations),
+                relativeDeviation(throughputs, throughput), relativeDeviation(p99s, p99));
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Median absolute deviation from the median, relative to the median
+     */
+    private static double relativeDeviation(double[] values, double median) {
+        if (median == 0) {
+            return 0;
+        }
+        double[] deviations = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            deviations[i] = Math.abs(values[i] - median);
+        }
+        return median(deviations) / median;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM does not report it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+            if (hotspotBean.isThreadAllocatedMemorySupported() && hotspotBean.isThreadAllocatedMemoryEnabled()) {
+                return hotspotBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adapts a list: GET, REMOVE and INSERT use the value modulo the size as index,
+     * EXTRACT_MIN removes the first element. Operations on an empty list are skipped.
+     */
+    public static Target forList(MyList<Integer> list) {
+        return (operation, value) -> {
+            int size = list.size();
+            switch (operation) {
+                case ADD:
+                    list.add(value);
+                    return size;
+                case INSERT:
+                    list.add(value % (size + 1), value);
+                    return size;
+                case GET:
+                    return size == 0 ? 0 : list.get(value % size);
+                case REMOVE:
+                    if (size > 0) {
+                        list.remove(value % size);
+                    }
+                    return size;
+                default:
+                    if (size > 0) {
+                        list.removeFirst();
+                    }
+                    return size;
+            }
+        };
+    }
+
+    /**
+     * Adapts a queue: ADD and INSERT enqueue, GET peeks, REMOVE and EXTRACT_MIN dequeue
+     */
+    public static Target forQueue(MyQueue<Integer> queue) {
+        return (operation, value) -> {
+            switch (operation) {
+                case ADD:
+                case INSERT:
+                    queue.enterQueue(value);
+                    return queue.size();
+                case GET:
+                    return queue.isEmpty() ? 0 : queue.peek();
+                default:
+                    return queue.isEmpty() ? 0 : queue.deleteQueue();
+            }
+        };
+    }
+
+    /**
+     * Adapts a stack: ADD and INSERT push, GET peeks, REMOVE and EXTRACT_MIN pop
+     */
+    public static Target forStack(MyStack<Integer> stack) {
+        return (operation, value) -> {
+            switch (operation) {
+                case ADD:
+                case INSERT:
+                    stack.push(value);
+                    return stack.size();
+                case GET:
+                    return stack.isEmpty() ? 0 : stack.peek();
+                default:
+                    return stack.isEmpty() ? 0 : stack.pop();
+            }
+        };
+    }
+
+    /**
+     * Adapts a heap: ADD and INSERT insert, GET reads the minimum, REMOVE and EXTRACT_MIN extract it
+     */
+    public static Target forHeap(MyMinHeap<Integer> heap) {
+        return (operation, value) -> {
+            switch (operation) {
+                case ADD:
+                case INSERT:
+                    heap.insert(value);
+                    return heap.size();
+                case GET:
+                    return heap.isEmpty() ? 0 : heap.getMin();
+                default:
+                    return heap.isEmpty() ? 0 : heap.extractMin();
+            }
+        };
+    }
+
+    /**
+     * Writes the throughput and p99 latency of each result, with their noise, to a baseline file
+     */
+    public static void saveBaseline(Path file, Result[] results) throws IOException {
+        Properties baseline = new Properties();
+        for (Result result : results) {
+            baseline.setProperty(result.getName() + ".throughput", Double.toString(result.getThroughput()));
+            baseline.setProperty(result.getName() + ".throughput.noise", Double.toString(result.getThroughputNoise()));
+            baseline.setProperty(result.getName() + ".p99", Long.toString(result.getP99()));
+            baseline.setProperty(result.getName() + ".p99.noise", Double.toString(result.getP99Noise()));
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            baseline.store(out, "Benchmark baseline");
+        }
+    }
+
+    /**
+     * Reads a baseline file written by saveBaseline()
+     */
+    public static Properties loadBaseline(Path file) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    /**
+     * Compares a result with the baseline. It regresses if its throughput dropped or its p99
+     * latency rose by more than the allowance: the tolerance (0.1 = 10%), or NOISE_MARGIN times
+     * the noise recorded in the baseline if that is larger, but never more than MAX_ALLOWANCE.
+     * The noise of the result itself is not used, so a noisy run cannot hide a regression.
+     * Metrics missing from the
+     * baseline are ignored. Returns a description of every regression, empty if there are none.
+     * A baseline value that is not a number is reported as an IOException.
+     */
+    public static String[] findRegressions(Properties baseline, Result result, double tolerance) throws IOException {
+        String[] regressions = new String[2];
+        int count = 0;
+        String name = result.getName();
+
+        String throughput = baseline.getProperty(name + ".throughput");
+        if (throughput != null) {
+            double expected = parseBaselineValue(name + ".throughput", throughput);
+            double allowance = allowance(baseline, name + ".throughput.noise", tolerance);
+            if (result.getThroughput() < expected * (1 - allowance)) {
+                regressions[count++] = String.format("%s: throughput %.0f ops/s, baseline %.0f ops/s (allowed -%.0f%%)",
+                        name, result.getThroughput(), expected, allowance * 100);
+            }
+        }
+        String p99 = baseline.getProperty(name + ".p99");
+        if (p99 != null) {
+            double expected = parseBaselineValue(name + ".p99", p99);
+            double allowance = allowance(baseline, name + ".p99.noise", tolerance);
+            if (result.getP99() > expected * (1 + allowance)) {
+                regressions[count++] = String.format("%s: p99 %d ns, baseline %.0f ns (allowed +%.0f%%)",
+                        name, result.getP99(), expected, allowance * 100);
+            }
+        }
+        return Arrays.copyOf(regressions, count);
+    }
+
+    private static double allowance(Properties baseline, String noiseKey, double tolerance) throws IOException {
+        String noise = baseline.getProperty(noiseKey);
+        double baselineNoise = noise != null ? parseBaselineValue(noiseKey, noise) : 0;
+        return Math.max(tolerance, Math.min(MAX_ALLOWANCE, NOISE_MARGIN * baselineNoise));
+    }
+
+    private static double parseBaselineValue(String key, String value) throws IOException {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Baseline value of " + key + " is not a number: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,514 @@
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded cache with O(1) get, put and promotion.
+ * Entries live in doubly-linked lists for recency order and in a MyHashMap index,
+ * so a hit moves its node to the front without searching the list.
+ * The cache holds entries up to a total weight (one per entry unless a weigher is given)
+ * and evicts by LRU, LFU or W-TinyLFU. It is not thread-safe; see MyConcurrentCache.
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class MyCache<K, V> {
+    /**
+     * How the cache chooses entries to evict
+     */
+    public enum EvictionPolicy {
+        /** Evicts the least recently used entry. */
+        LRU,
+        /** Evicts the least frequently used entry, the least recent one among ties. */
+        LFU,
+        /**
+         * Keeps new entries in a small LRU window. An entry leaving the window is only
+         * admitted to the main segmented LRU if a frequency sketch says it is more popular
+         * than the entry it would replace.
+         */
+        TINY_LFU
+    }
+
+    // Queue an entry is in under TINY_LFU
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    // Share of the weight given to the TINY_LFU admission window
+    private static final double WINDOW_SHARE = 0.01;
+
+    // Share of the main segment given to its protected part
+    private static final double PROTECTED_SHARE = 0.8;
+
+    /**
+     * Internal node, linked into one recency list at a time
+     */
+    private static final class CacheNode<K, V> {
+        K key;
+        V value;
+        int weight;
+        int queue;
+        FrequencyBucket<K, V> bucket;
+        CacheNode<K, V> previous;
+        CacheNode<K, V> next;
+    }
+
+    /**
+     * Circular doubly-linked list with a sentinel; the first node is the most recent
+     */
+    private static final class NodeList<K, V> {
+        final CacheNode<K, V> sentinel = new CacheNode<>();
+        long weight;
+
+        NodeList() {
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+        }
+
+        boolean isEmpty() {
+            return sentinel.next == sentinel;
+        }
+
+        CacheNode<K, V> first() {
+            return isEmpty() ? null : sentinel.next;
+        }
+
+        CacheNode<K, V> last() {
+            return isEmpty() ? null : sentinel.previous;
+        }
+
+        void addFirst(CacheNode<K, V> node) {
+            node.previous = sentinel;
+            node.next = sentinel.next;
+            sentinel.next.previous = node;
+            sentinel.next = node;
+            weight += node.weight;
+        }
+
+        void remove(CacheNode<K, V> node) {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+            node.previous = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToFront(CacheNode<K, V> node) {
+            remove(node);
+            addFirst(node);
+        }
+    }
+
+    /**
+     * Entries with the same use count under LFU; buckets are kept in ascending order
+     */
+    private static final class FrequencyBucket<K, V> {
+        final int frequency;
+        final NodeList<K, V> nodes = new NodeList<>();
+        FrequencyBucket<K, V> previous;
+        FrequencyBucket<K, V> next;
+
+        FrequencyBucket(int frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+    // Eviction policy
+    private final EvictionPolicy policy;
+
+    // Maximum total weight
+    private final long maxWeight;
+
+    // Computes the weight of an entry
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    // Key lookup
+    private final MyHashMap<K, CacheNode<K, V>> index = new MyHashMap<>();
+
+    // Total weight of all entries
+    private long totalWeight;
+
+    // LRU order (LRU), admission window (TINY_LFU)
+    private final NodeList<K, V> window = new NodeList<>();
+
+    // Main segment under TINY_LFU: entries seen once there, and entries seen again
+    private final NodeList<K, V> probation = new NodeList<>();
+    private final NodeList<K, V> protectedNodes = new NodeList<>();
+
+    // Most recent entry to leave the window under TINY_LFU, still competing for admission
+    private CacheNode<K, V> candidate;
+
+    // Popularity estimates under TINY_LFU
+    private final MyFrequencySketch sketch;
+
+    // Lowest frequency bucket under LFU
+    private FrequencyBucket<K, V> lowestBucket;
+
+    // Statistics
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache holding at most maxEntries entries
+     */
+    public MyCache(long maxEntries, EvictionPolicy policy) {
+        this(maxEntries, policy, (key, value) -> 1);
+    }
+
+    /**
+     * Creates a cache whose entries, weighed by the weigher, add up to at most maxWeight
+     */
+    public MyCache(long maxWeight, EvictionPolicy policy, ToIntBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        if (policy == null || weigher == null) {
+            throw new IllegalArgumentException("Policy and weigher cannot be null");
+        }
+        this.maxWeight = maxWeight;
+        this.policy = policy;
+        this.weigher = weigher;
+        this.sketch = policy == EvictionPolicy.TINY_LFU
+                ? new MyFrequencySketch((int) Math.min(maxWeight, 1 << 20))
+                : null;
+    }
+
+    /**
+     * Returns the cached value for the key, or null if it is not cached
+     */
+    public V get(K key) {
+        if (sketch != null && key != null) {
+            sketch.increment(key);
+        }
+        CacheNode<K, V> node = index.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Caches the value for the key, evicting other entries if the weight limit is exceeded.
+     * An entry heavier than the whole cache is not stored.
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
+        CacheNode<K, V> existing = index.get(key);
+        if (weight > maxWeight) {
+            // Could never fit; drop any older value instead of evicting everything else
+            if (existing != null) {
+                discard(existing);
+            }
+            return;
+        }
+        if (existing != null) {
+            // Replace in place, keeping the entry's position and use count
+            containerOf(existing).weight += weight - existing.weight;
+            totalWeight += weight - existing.weight;
+            existing.value = value;
+            existing.weight = weight;
+            onAccess(existing);
+        } else {
+            CacheNode<K, V> node = new CacheNode<>();
+            node.key = key;
+            node.value = value;
+            node.weight = weight;
+            index.put(key, node);
+            totalWeight += weight;
+            onInsert(node);
+            existing = node;
+        }
+        evictIfNeeded(existing);
+    }
+
+    /**
+     * Removes the entry for the key; returns its value, or null if it was not cached
+     */
+    public V remove(K key) {
+        CacheNode<K, V> node = index.get(key);
+        if (node == null) {
+            return null;
+        }
+        discard(node);
+        return node.value;
+    }
+
+    /**
+     * Removes all entries; statistics are kept
+     */
+    public void clear() {
+        CacheNode<K, V> node;
+        while ((node = anyNode()) != null) {
+            discard(node);
+        }
+    }
+
+    private CacheNode<K, V> anyNode() {
+        if (!window.isEmpty()) {
+            return window.first();
+        }
+        if (!probation.isEmpty()) {
+            return probation.first();
+        }
+        if (!protectedNodes.isEmpty()) {
+            return protectedNodes.first();
+        }
+        return lowestBucket != null ? lowestBucket.nodes.first() : null;
+    }
+
+    /**
+     * Places a new node according to the policy
+     */
+    private void onInsert(CacheNode<K, V> node) {
+        switch (policy) {
+            case LFU:
+                if (lowestBucket == null || lowestBucket.frequency != 1) {
+                    FrequencyBucket<K, V> bucket = new FrequencyBucket<>(1);
+                    bucket.next = lowestBucket;
+                    if (lowestBucket != null) {
+                        lowestBucket.previous = bucket;
+                    }
+                    lowestBucket = bucket;
+                }
+                node.bucket = lowestBucket;
+                lowestBucket.nodes.addFirst(node);
+                break;
+            case TINY_LFU:
+                node.queue = WINDOW;
+                window.addFirst(node);
+                drainWindow();
+                break;
+            default:
+                window.addFirst(node);
+                break;
+        }
+    }
+
+    /**
+     * Promotes a node after a hit
+     */
+    private void onAccess(CacheNode<K, V> node) {
+        switch (policy) {
+            case LFU:
+                promoteFrequency(node);
+                break;
+            case TINY_LFU:
+                if (node == candidate) {
+                    candidate = null;
+                }
+                if (node.queue == PROBATION) {
+                    // Seen again while on probation: protect it
+                    probation.remove(node);
+                    node.queue = PROTECTED;
+                    protectedNodes.addFirst(node);
+                    demoteProtectedOverflow();
+                } else if (node.queue == PROTECTED) {
+                    protectedNodes.moveToFront(node);
+                    demoteProtectedOverflow();
+                } else {
+                    window.moveToFront(node);
+                    drainWindow();
+                }
+                break;
+            default:
+                window.moveToFront(node);
+                break;
+        }
+    }
+
+    /**
+     * Moves an LFU node to the bucket for the next frequency
+     */
+    private void promoteFrequency(CacheNode<K, V> node) {
+        FrequencyBucket<K, V> current = node.bucket;
+        FrequencyBucket<K, V> next = current.next;
+        if (next == null || next.frequency != current.frequency + 1) {
+            next = new FrequencyBucket<>(current.frequency + 1);
+            next.previous = current;
+            next.next = current.next;
+            if (current.next != null) {
+                current.next.previous = next;
+            }
+            current.next = next;
+        }
+        current.nodes.remove(node);
+        node.bucket = next;
+        next.nodes.addFirst(node);
+        removeBucketIfEmpty(current);
+    }
+
+    private void removeBucketIfEmpty(FrequencyBucket<K, V> bucket) {
+        if (!bucket.nodes.isEmpty()) {
+            return;
+        }
+        if (bucket.previous != null) {
+            bucket.previous.next = bucket.next;
+        } else {
+            lowestBucket = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.previous = bucket.previous;
+        }
+    }
+
+    /**
+     * Moves entries that overflow the TINY_LFU window into probation, where they compete for admission
+     */
+    private void drainWindow() {
+        long windowMax = Math.max(1, (long) (maxWeight * WINDOW_SHARE));
+        while (window.weight > windowMax && window.last() != null) {
+            CacheNode<K, V> node = window.last();
+            window.remove(node);
+            node.queue = PROBATION;
+            probation.addFirst(node);
+            candidate = node;
+        }
+    }
+
+    /**
+     * Keeps the protected segment within its share by moving its oldest entries back to probation
+     */
+    private void demoteProtectedOverflow() {
+        long protectedMax = (long) ((maxWeight - Math.max(1, (long) (maxWeight * WINDOW_SHARE))) * PROTECTED_SHARE);
+        while (protectedNodes.weight > protectedMax && protectedNodes.last() != null) {
+            CacheNode<K, V> node = protectedNodes.last();
+            protectedNodes.remove(node);
+            node.queue = PROBATION;
+            probation.addFirst(node);
+        }
+    }
+
+    /**
+     * Evicts entries until the total weight is within the limit.
+     * Under LFU the entry just written is never chosen, so a new key always gets in.
+     */
+    private void evictIfNeeded(CacheNode<K, V> written) {
+        while (totalWeight > maxWeight) {
+            CacheNode<K, V> victim = selectVictim(written);
+            discard(victim);
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Returns the entry the policy wants to evict next
+     */
+    private CacheNode<K, V> selectVictim(CacheNode<K, V> written) {
+        switch (policy) {
+            case LFU:
+                CacheNode<K, V> least = lowestBucket.nodes.last();
+                if (least != written) {
+                    return least;
+                }
+                // Skip the written entry; it fits on its own, so some other entry is left
+                if (least.previous != lowestBucket.nodes.sentinel) {
+                    return least.previous;
+                }
+                return lowestBucket.next.nodes.last();
+            case TINY_LFU:
+                CacheNode<K, V> victim = probation.last();
+                if (victim == null) {
+                    victim = protectedNodes.last();
+                }
+                if (victim == null) {
+                    return window.last();
+                }
+                if (candidate == null || candidate == victim) {
+                    return victim;
+                }
+                // Admission: the newcomer stays only if it is more popular than the victim
+                return sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+            default:
+                return window.last();
+        }
+    }
+
+    /**
+     * Removes a node from its list and from the index
+     */
+    private void discard(CacheNode<K, V> node) {
+        unlink(node);
+        index.remove(node.key);
+        totalWeight -= node.weight;
+        if (node == candidate) {
+            candidate = null;
+        }
+    }
+
+    /**
+     * Takes a node out of whichever list holds it
+     */
+    private void unlink(CacheNode<K, V> node) {
+        containerOf(node).remove(node);
+        if (policy == EvictionPolicy.LFU) {
+            removeBucketIfEmpty(node.bucket);
+        }
+    }
+
+    /**
+     * Returns the list currently holding the node
+     */
+    private NodeList<K, V> containerOf(CacheNode<K, V> node) {
+        if (policy == EvictionPolicy.LFU) {
+            return node.bucket.nodes;
+        }
+        if (policy == EvictionPolicy.LRU || node.queue == WINDOW) {
+            return window;
+        }
+        return node.queue == PROBATION ? probation : protectedNodes;
+    }
+
+    /**
+     * Returns the number of cached entries
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the total weight of the cached entries
+     */
+    public long weightedSize() {
+        return totalWeight;
+    }
+
+    /**
+     * Returns how many lookups found a cached value
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns how many lookups found nothing
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns how many entries were evicted to respect the weight limit
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the share of lookups that were hits, or 0 if there were none
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+}
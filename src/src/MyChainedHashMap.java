@@ -0,0 +1,291 @@
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map using separate chaining: each bucket is a singly linked chain of MyNode entries.
+ * Chains tolerate high load factors and removal is simple unlinking, at the cost of
+ * one node allocation per entry.
+ *
+ * Growing is incremental, as in MyHashMap: when the load factor is reached a bucket array
+ * twice the size is allocated, and each following put or remove relinks the chains of a
+ * few old buckets into it.
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class MyChainedHashMap<K, V> {
+    // Default number of buckets
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Default average chain length at which the table grows
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    // Old buckets moved to the new array per put or remove while growing
+    private static final int MIGRATION_STEP = 16;
+
+    /**
+     * Key-value pair stored in a chain node
+     */
+    private static final class Entry<K, V> {
+        final K key;
+        final int hash;
+        V value;
+
+        Entry(K key, int hash, V value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    // Buckets, each the head of a chain or null
+    private MyNode<Entry<K, V>>[] buckets;
+
+    // Buckets being drained while growing, null otherwise
+    private MyNode<Entry<K, V>>[] oldBuckets;
+
+    // Old buckets below this index have been moved to the current array
+    private int migrateIndex;
+
+    // Number of entries
+    private int entryCount;
+
+    // Average chain length at which the table grows
+    private final float loadFactor;
+
+    // Entry count at which the table grows
+    private int threshold;
+
+    /**
+     * Creates an empty map with default capacity and load factor
+     */
+    public MyChainedHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates an empty map that holds expectedSize entries before growing
+     */
+    public MyChainedHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        if (!(loadFactor > 0)) {
+            throw new IllegalArgumentException("Load factor must be positive");
+        }
+        this.loadFactor = loadFactor;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * loadFactor < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void allocate(int capacity) {
+        buckets = (MyNode<Entry<K, V>>[]) new MyNode[capacity];
+        threshold = (int) (capacity * loadFactor);
+    }
+
+    /**
+     * Spreads the hash code so sequential keys do not share buckets
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the bucket array holding the key's chain: the old one if its bucket has not
+     * been moved yet, otherwise the current one
+     */
+    private MyNode<Entry<K, V>>[] tableFor(int hash) {
+        if (oldBuckets != null && (hash & (oldBuckets.length - 1)) >= migrateIndex) {
+            return oldBuckets;
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns the chain node holding the key, or null
+     */
+    private MyNode<Entry<K, V>> findNode(Object key, int hash) {
+        MyNode<Entry<K, V>>[] table = tableFor(hash);
+        MyNode<Entry<K, V>> node = table[hash & (table.length - 1)];
+        while (node != null) {
+            if (node.data.hash == hash && (node.data.key == key || key.equals(node.data.key))) {
+                return node;
+            }
+            node = node.next;
+        }
+        return null;
+    }
+
+    /**
+     * Associates the value with the key and returns the previous value, or null
+     */
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+        int hash = hash(key);
+        migrateStep();
+        MyNode<Entry<K, V>> existing = findNode(key, hash);
+        if (existing != null) {
+            V previous = existing.data.value;
+            existing.data.value = value;
+            return previous;
+        }
+
+        if (entryCount + 1 > threshold) {
+            // Never grow twice at once: finish the previous migration first
+            while (oldBuckets != null) {
+                migrateStep();
+            }
+            startGrowing();
+        }
+        // Push onto the front of the chain
+        MyNode<Entry<K, V>>[] table = tableFor(hash);
+        int bucket = hash & (table.length - 1);
+        MyNode<Entry<K, V>> node = new MyNode<>(new Entry<>(key, hash, value));
+        node.next = table[bucket];
+        table[bucket] = node;
+        entryCount++;
+        return null;
+    }
+
+    /**
+     * Starts growing into a bucket array twice the current size
+     */
+    private void startGrowing() {
+        oldBuckets = buckets;
+        migrateIndex = 0;
+        allocate(oldBuckets.length * 2);
+    }
+
+    /**
+     * Relinks the chains of the next few old buckets into the current array
+     */
+    private void migrateStep() {
+        if (oldBuckets == null) {
+            return;
+        }
+        int mask = buckets.length - 1;
+        int end = Math.min(oldBuckets.length, migrateIndex + MIGRATION_STEP);
+        for (; migrateIndex < end; migrateIndex++) {
+            MyNode<Entry<K, V>> node = oldBuckets[migrateIndex];
+            oldBuckets[migrateIndex] = null;
+            while (node != null) {
+                MyNode<Entry<K, V>> next = node.next;
+                int bucket = node.data.hash & mask;
+                node.next = buckets[bucket];
+                buckets[bucket] = node;
+                node = next;
+            }
+        }
+        if (migrateIndex == oldBuckets.length) {
+            oldBuckets = null;
+        }
+    }
+
+    /**
+     * Returns the value for the key, or null if there is none
+     */
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        MyNode<Entry<K, V>> node = findNode(key, hash(key));
+        return node != null ? node.data.value : null;
+    }
+
+    /**
+     * Returns true if the map has an entry for the key
+     */
+    public boolean containsKey(Object key) {
+        return key != null && findNode(key, hash(key)) != null;
+    }
+
+    /**
+     * Removes the entry for the key and returns its value, or null if there was none
+     */
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = hash(key);
+        migrateStep();
+        MyNode<Entry<K, V>>[] table = tableFor(hash);
+        int bucket = hash & (table.length - 1);
+        MyNode<Entry<K, V>> previous = null;
+        MyNode<Entry<K, V>> node = table[bucket];
+        while (node != null) {
+            if (node.data.hash == hash && (node.data.key == key || key.equals(node.data.key))) {
+                // Unlink the node from its chain
+                if (previous == null) {
+                    table[bucket] = node.next;
+                } else {
+                    previous.next = node.next;
+                }
+                node.next = null;
+                entryCount--;
+                return node.data.value;
+            }
+            previous = node;
+            node = node.next;
+        }
+        return null;
+    }
+
+    /**
+     * Calls the action for every entry
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (MyNode<Entry<K, V>> head : buckets) {
+            for (MyNode<Entry<K, V>> node = head; node != null; node = node.next) {
+                action.accept(node.data.key, node.data.value);
+            }
+        }
+        if (oldBuckets != null) {
+            for (int i = migrateIndex; i < oldBuckets.length; i++) {
+                for (MyNode<Entry<K, V>> node = oldBuckets[i]; node != null; node = node.next) {
+                    action.accept(node.data.key, node.data.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries, keeping the current capacity
+     */
+    public void clear() {
+        allocate(buckets.length);
+        oldBuckets = null;
+        entryCount = 0;
+    }
+
+    /**
+     * Returns the number of entries
+     */
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * Checks if the map is empty
+     */
+    public boolean isEmpty() {
+        return entryCount == 0;
+    }
+
+    /**
+     * Returns an estimate of the heap bytes used by buckets, nodes and entries, not counting keys and values
+     */
+    public long memoryFootprint() {
+        // Each entry costs a MyNode (data, next) and an Entry (key, value, hash)
+        long perEntry = MyMemoryEstimator.objectSize(2 * MyMemoryEstimator.REFERENCE)
+                + MyMemoryEstimator.objectSize(2 * MyMemoryEstimator.REFERENCE + 4);
+        return MyMemoryEstimator.objectSize(2 * MyMemoryEstimator.REFERENCE + 4 * 4)
+                + MyMemoryEstimator.referenceArraySize(buckets.length)
+                + (oldBuckets != null ? MyMemoryEstimator.referenceArraySize(oldBuckets.length) : 0)
+                + entryCount * perEntry;
+    }
+}
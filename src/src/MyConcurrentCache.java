@@ -0,0 +1,179 @@
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A thread-safe cache split into independently locked MyCache segments.
+ * Each key belongs to one segment, chosen by its hash, so threads working on different
+ * segments never wait for each other. Every segment enforces its share of the weight
+ * limit on its own, so eviction order is per segment rather than global.
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class MyConcurrentCache<K, V> {
+    // Segments and their locks, same index
+    private final MyCache<K, V>[] segments;
+    private final ReentrantLock[] locks;
+
+    /**
+     * Creates a cache holding at most maxEntries entries, split into the given number of segments
+     */
+    public MyConcurrentCache(long maxEntries, MyCache.EvictionPolicy policy, int segmentCount) {
+        this(maxEntries, policy, (key, value) -> 1, segmentCount);
+    }
+
+    /**
+     * Creates a weighted cache, split into the given number of segments
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MyConcurrentCache(long maxWeight, MyCache.EvictionPolicy policy,
+                             ToIntBiFunction<? super K, ? super V> weigher, int segmentCount) {
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("Segment count must be positive");
+        }
+        if (maxWeight < segmentCount) {
+            throw new IllegalArgumentException("Maximum weight must be at least the segment count");
+        }
+        segments = (MyCache<K, V>[]) new MyCache[segmentCount];
+        locks = new ReentrantLock[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the shares add up to maxWeight
+            long share = maxWeight / segmentCount + (i < maxWeight % segmentCount ? 1 : 0);
+            segments[i] = new MyCache<>(share, policy, weigher);
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Returns the segment index for the key
+     */
+    private int segmentFor(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & 0x7FFFFFFF) % segments.length;
+    }
+
+    /**
+     * Returns the cached value for the key, or null if it is not cached
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        int segment = segmentFor(key);
+        locks[segment].lock();
+        try {
+            return segments[segment].get(key);
+        } finally {
+            locks[segment].unlock();
+        }
+    }
+
+    /**
+     * Caches the value for the key, evicting entries of the same segment if needed
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+        int segment = segmentFor(key);
+        locks[segment].lock();
+        try {
+            segments[segment].put(key, value);
+        } finally {
+            locks[segment].unlock();
+        }
+    }
+
+    /**
+     * Removes the entry for the key; returns its value, or null if it was not cached
+     */
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        int segment = segmentFor(key);
+        locks[segment].lock();
+        try {
+            return segments[segment].remove(key);
+        } finally {
+            locks[segment].unlock();
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                segments[i].clear();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached entries
+     */
+    public int size() {
+        int total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                total += segments[i].size();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns how many lookups found a cached value, summed over all segments
+     */
+    public long getHitCount() {
+        long total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                total += segments[i].getHitCount();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns how many lookups found nothing, summed over all segments
+     */
+    public long getMissCount() {
+        long total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                total += segments[i].getMissCount();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns how many entries were evicted, summed over all segments
+     */
+    public long getEvictionCount() {
+        long total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            locks[i].lock();
+            try {
+                total += segments[i].getEvictionCount();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,230 @@
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe priority queue with the same insert/extractMin API as MyMinHeap.
+ *
+ * In relaxed mode (the default) it is a MultiQueue: elements are spread over several
+ * MyMinHeap instances, each with its own lock. insert picks a random heap, and extractMin
+ * compares the minimums of two random heaps and takes the smaller one. Threads rarely wait
+ * for each other, but extractMin may return an element that is close to, not exactly, the minimum.
+ *
+ * In strict mode elements are kept in a lock-free skip list and extractMin always
+ * returns the exact minimum.
+ * @param <T> the type of elements stored in this heap
+ */
+public class MyConcurrentMinHeap<T extends Comparable<T>> {
+    // Heaps per expected thread in relaxed mode
+    private static final int HEAPS_PER_THREAD = 2;
+
+    // Two-choice picks that may both look empty before extractMin scans every heap
+    private static final int EMPTY_PICK_RETRIES = 4;
+
+    /**
+     * One heap of the MultiQueue with its lock and a copy of its minimum
+     * that other threads can read without taking the lock
+     */
+    private static final class Slot<T extends Comparable<T>> {
+        final ReentrantLock lock = new ReentrantLock();
+        final MyMinHeap<T> heap = new MyMinHeap<>();
+        volatile T top;
+
+        // Refreshes the published minimum; must hold the lock
+        void publishTop() {
+            top = heap.isEmpty() ? null : heap.getMin();
+        }
+    }
+
+    /**
+     * Element in strict mode; the sequence number keeps equal elements distinct
+     */
+    private static final class Entry<T> {
+        final T value;
+        final long sequence;
+
+        Entry(T value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+
+    // Heaps used in relaxed mode, null in strict mode
+    private final Slot<T>[] slots;
+
+    // Skip list used in strict mode, null in relaxed mode
+    private final ConcurrentSkipListSet<Entry<T>> ordered;
+
+    // Tie breaker for equal elements in strict mode
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Number of elements
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Creates a relaxed heap sized for the number of available processors
+     */
+    public MyConcurrentMinHeap() {
+        this(Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * Creates a heap for the expected number of threads.
+     * With strict set, extractMin always returns the exact minimum and threads is ignored.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MyConcurrentMinHeap(int threads, boolean strict) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        if (strict) {
+            slots = null;
+            ordered = new ConcurrentSkipListSet<>(
+                    Comparator.<Entry<T>, T>comparing(entry -> entry.value)
+                            .thenComparingLong(entry -> entry.sequence));
+        } else {
+            slots = (Slot<T>[]) new Slot[threads * HEAPS_PER_THREAD];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = new Slot<>();
+            }
+            ordered = null;
+        }
+    }
+
+    // Inserts a new element into the heap
+    public void insert(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null elements are not supported");
+        }
+        if (ordered != null) {
+            ordered.add(new Entry<>(item, sequence.getAndIncrement()));
+            count.increment();
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            // Skip heaps another thread is using instead of waiting for them
+            Slot<T> slot = slots[random.nextInt(slots.length)];
+            if (slot.lock.tryLock()) {
+                try {
+                    slot.heap.insert(item);
+                    slot.publishTop();
+                    count.increment();
+                    return;
+                } finally {
+                    slot.lock.unlock();
+                }
+            }
+        }
+    }
+
+    // Removes and returns the minimum element (approximate in relaxed mode)
+    public T extractMin() {
+        if (ordered != null) {
+            Entry<T> first = ordered.pollFirst();
+            if (first == null) {
+                throw new IllegalStateException("Heap is empty");
+            }
+            count.decrement();
+            return first.value;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int emptyPicks = 0;
+        while (true) {
+            Slot<T> slot = pickSmaller(slots[random.nextInt(slots.length)], slots[random.nextInt(slots.length)]);
+            if (slot == null) {
+                if (++emptyPicks <= EMPTY_PICK_RETRIES) {
+                    continue;
+                }
+                // Few elements left, so random picks keep missing: go for the smallest published minimum
+                slot = smallestTopSlot();
+                if (slot == null) {
+                    throw new IllegalStateException("Heap is empty");
+                }
+            }
+            if (slot.lock.tryLock()) {
+                try {
+                    // The heap may have been emptied after we read its top
+                    if (!slot.heap.isEmpty()) {
+                        T item = slot.heap.extractMin();
+                        slot.publishTop();
+                        count.decrement();
+                        return item;
+                    }
+                } finally {
+                    slot.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the slot with the smaller published minimum, or null if both look empty
+     */
+    private Slot<T> pickSmaller(Slot<T> first, Slot<T> second) {
+        T firstTop = first.top;
+        T secondTop = second.top;
+        if (firstTop == null) {
+            return secondTop == null ? null : second;
+        }
+        if (secondTop == null) {
+            return first;
+        }
+        return firstTop.compareTo(secondTop) <= 0 ? first : second;
+    }
+
+    /**
+     * Returns the slot with the smallest published minimum, or null if all look empty.
+     * Reads the published tops only and takes no locks.
+     */
+    private Slot<T> smallestTopSlot() {
+        Slot<T> best = null;
+        T min = null;
+        for (Slot<T> slot : slots) {
+            T top = slot.top;
+            if (top != null && (min == null || top.compareTo(min) < 0)) {
+                best = slot;
+                min = top;
+            }
+        }
+        return best;
+    }
+
+    // Returns the minimum element without removing it (approximate in relaxed mode)
+    public T getMin() {
+        T min = null;
+        if (ordered != null) {
+            // Iterator instead of first(), which throws if another thread empties the set
+            Iterator<Entry<T>> iterator = ordered.iterator();
+            min = iterator.hasNext() ? iterator.next().value : null;
+        } else {
+            for (Slot<T> slot : slots) {
+                T top = slot.top;
+                if (top != null && (min == null || top.compareTo(min) < 0)) {
+                    min = top;
+                }
+            }
+        }
+        if (min == null) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return min;
+    }
+
+    // Checks if the heap is empty
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Returns the number of elements in the heap; may be stale while other threads are writing
+    public int size() {
+        // Can dip below zero briefly when an extract overtakes the matching insert's increment
+        return Math.max(0, count.intValue());
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * A count-min sketch that estimates how often keys have been seen, in fixed memory.
+ * Counters saturate at 15, and once enough increments have been recorded all counters
+ * are halved, so the estimates favour recent popularity.
+ */
+public class MyFrequencySketch {
+    // Number of hash rows; an estimate is the minimum over all rows
+    private static final int DEPTH = 4;
+
+    // Largest value a counter can reach
+    private static final int MAX_COUNT = 15;
+
+    // Increments between two agings, per counter column
+    private static final int SAMPLE_FACTOR = 10;
+
+    // Per-row seeds for deriving independent hashes
+    private static final int[] SEEDS = {0x97CB3127, 0xB7112EB5, 0xD3A2646C, 0x6D8A1F2B};
+
+    // Counters, one row after another
+    private final int[] table;
+
+    // Columns per row (a power of two)
+    private final int width;
+
+    // Increments since the last aging
+    private int additions;
+
+    // Increments that trigger aging
+    private final int sampleSize;
+
+    /**
+     * Creates a sketch sized for roughly the given number of distinct hot keys
+     */
+    public MyFrequencySketch(int expectedEntries) {
+        int columns = 16;
+        while (columns < expectedEntries && columns < (1 << 24)) {
+            columns <<= 1;
+        }
+        width = columns;
+        table = new int[DEPTH * width];
+        sampleSize = SAMPLE_FACTOR * width;
+    }
+
+    /**
+     * Returns the counter slot of the key in the given row
+     */
+    private int slot(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+        h ^= h >>> 15;
+        return row * width + (h & (width - 1));
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode() * 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    /**
+     * Records one occurrence of the key
+     */
+    public void increment(Object key) {
+        int hash = spread(key);
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = slot(hash, row);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            age();
+        }
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key, at most 15
+     */
+    public int frequency(Object key) {
+        int hash = spread(key);
+        int estimate = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, table[slot(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter so old popularity fades out
+     */
+    private void age() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions /= 2;
+    }
+}
@@ -0,0 +1,306 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list stored in an array with a movable gap of free slots, as used by text editors.
+ * Inserts and removes happen at the gap, and the gap only moves when an edit lands
+ * somewhere else. Edits clustered around a cursor cost O(1) amortized instead of
+ * shifting the whole tail; moving the gap costs the distance it travels.
+ * @param <T> the type of elements stored in this list
+ */
+public class MyGapBufferList<T extends Comparable<T>> implements MyList<T> {
+    // Default capacity for new instances
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Internal storage; elements live in [0, gapStart) and [gapEnd, buffer.length)
+    private Object[] buffer;
+
+    // First free slot of the gap
+    private int gapStart;
+
+    // First used slot after the gap
+    private int gapEnd;
+
+    /**
+     * Creates an empty list with default capacity
+     */
+    public MyGapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with specified capacity
+     */
+    public MyGapBufferList(int startingCapacity) {
+        if (startingCapacity < 1) {
+            throw new IllegalArgumentException("Starting capacity must be positive");
+        }
+        buffer = new Object[startingCapacity];
+        gapStart = 0;
+        gapEnd = startingCapacity;
+    }
+
+    /**
+     * Maps a list index to its slot in the buffer
+     */
+    private int slotOf(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * Moves the gap so that it starts at the given index
+     */
+    private void moveGap(int index) {
+        if (index == gapStart) {
+            return;
+        }
+        int gapLength = gapEnd - gapStart;
+
+        if (index < gapStart) {
+            // Shift [index, gapStart) to the end of the gap
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            // Clear the moved slots that are now part of the gap
+            Arrays.fill(buffer, index, Math.min(gapStart, gapEnd - count), null);
+        } else {
+            // Shift the elements after the gap to its start
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            Arrays.fill(buffer, Math.max(gapEnd, index), gapEnd + count, null);
+        }
+
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    /**
+     * Ensures the gap has room for at least one element
+     */
+    private void ensureGap() {
+        if (gapStart < gapEnd) {
+            return;
+        }
+        // Double the capacity and keep the elements after the gap at the end
+        int newCapacity = Math.max(DEFAULT_CAPACITY, buffer.length * 2);
+        int tailLength = buffer.length - gapEnd;
+        Object[] grown = new Object[newCapacity];
+        System.arraycopy(buffer, 0, grown, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, grown, newCapacity - tailLength, tailLength);
+        buffer = grown;
+        gapEnd = newCapacity - tailLength;
+    }
+
+    @Override
+    public void add(T item) {
+        add(size(), item);
+    }
+
+    @Override
+    public void set(int index, T item) {
+        validateIndex(index);
+        buffer[slotOf(index)] = item;
+    }
+
+    @Override
+    public void add(int index, T item) {
+        validateIndexForInsertion(index);
+        moveGap(index);
+        ensureGap();
+        buffer[gapStart++] = item;
+    }
+
+    @Override
+    public void addFirst(T item) {
+        add(0, item);
+    }
+
+    @Override
+    public void addLast(T item) {
+        add(size(), item);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        return (T) buffer[slotOf(index)];
+    }
+
+    @Override
+    public T getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(0);
+    }
+
+    @Override
+    public T getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(size() - 1);
+    }
+
+    @Override
+    public void remove(int index) {
+        validateIndex(index);
+        if (index == gapStart - 1) {
+            // Element just before the gap (backspace)
+            buffer[--gapStart] = null;
+            return;
+        }
+        // Otherwise bring the gap to the element and absorb it (delete)
+        moveGap(index);
+        buffer[gapEnd++] = null;
+    }
+
+    @Override
+    public void removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        remove(0);
+    }
+
+    @Override
+    public void removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        remove(size() - 1);
+    }
+
+    @Override
+    public void sort() {
+        sort(Comparator.naturalOrder());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        if (size() <= 1) {
+            return;
+        }
+        // Close the gap by moving it to the end, then sort the contiguous elements
+        moveGap(size());
+        Arrays.sort(buffer, 0, gapStart, (a, b) -> comparator.compare((T) a, (T) b));
+    }
+
+    @Override
+    public int indexOf(Object target) {
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            Object element = buffer[slotOf(i)];
+            if (element != null && element.equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object target) {
+        for (int i = size() - 1; i >= 0; i--) {
+            Object element = buffer[slotOf(i)];
+            if (element != null && element.equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean exists(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size()];
+        System.arraycopy(buffer, 0, result, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, result, gapStart, buffer.length - gapEnd);
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        // Clear all references to help GC
+        Arrays.fill(buffer, null);
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    @Override
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public long memoryFootprint() {
+        // Header + buffer reference + two ints, the buffer including the gap, and the elements
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE + 2 * 4)
+                + MyMemoryEstimator.referenceArraySize(buffer.length)
+                + MyMemoryEstimator.payloadSize(this);
+    }
+
+    /**
+     * Removes the gap by copying the elements into an exactly sized buffer
+     */
+    @Override
+    public void compact() {
+        int size = size();
+        // Keep at least one slot so the buffer is never empty
+        buffer = Arrays.copyOf(toArray(), Math.max(size, 1));
+        gapStart = size;
+        gapEnd = buffer.length;
+    }
+
+    /**
+     * Checks if the list is empty
+     */
+    private boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Validates that the provided index is within bounds
+     */
+    private void validateIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Validates that the provided index is valid for insertion
+     */
+    private void validateIndexForInsertion(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) buffer[slotOf(cursor++)];
+            }
+        };
+    }
+}
@@ -0,0 +1,412 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map using open addressing with Robin Hood linear probing.
+ * Entries that have probed further from their home slot take over slots from entries
+ * that are closer to theirs, which keeps probe sequences short and lets lookups stop early.
+ *
+ * Growing is incremental: when the load factor is reached a table twice the size is
+ * allocated, and each following put or remove moves a few slots of the old table over.
+ * No single operation pays for rehashing the whole map.
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class MyHashMap<K, V> {
+    // Default number of slots
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Default fraction of slots that may be used before growing
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    // Old slots moved to the new table per put or remove while growing
+    private static final int MIGRATION_STEP = 16;
+
+    // Marks a removed entry in the old table, so its probe chain stays intact
+    private static final Object TOMBSTONE = new Object();
+
+    // Current table: keys, values, and probe distance + 1 of each slot (0 = empty)
+    private Object[] keys;
+    private Object[] values;
+    private int[] probes;
+
+    // Table being drained while growing, null otherwise
+    private Object[] oldKeys;
+    private Object[] oldValues;
+    private int[] oldProbes;
+
+    // Old slots below this index have been moved to the current table
+    private int migrateIndex;
+
+    // Number of entries
+    private int entryCount;
+
+    // Fraction of slots that may be used before growing
+    private final float loadFactor;
+
+    // Entry count at which the table grows
+    private int threshold;
+
+    /**
+     * Creates an empty map with default capacity and load factor
+     */
+    public MyHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates an empty map that holds expectedSize entries before growing
+     */
+    public MyHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.ceil(expectedSize / loadFactor)));
+    }
+
+    /**
+     * Returns the smallest power of two that is at least the requested size
+     */
+    private static int tableSizeFor(int requested) {
+        int size = DEFAULT_CAPACITY;
+        while (size < requested) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        probes = new int[capacity];
+        threshold = (int) (capacity * loadFactor);
+    }
+
+    /**
+     * Spreads the hash code so sequential keys do not land in neighbouring slots
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the slot holding the key in the given table, or -1
+     */
+    private static int findSlot(Object[] tableKeys, int[] tableProbes, Object key, int hash) {
+        int mask = tableKeys.length - 1;
+        int index = hash & mask;
+        // Robin Hood order: once slots are closer to home than we are, the key cannot follow
+        for (int distance = 1; tableProbes[index] >= distance; distance++) {
+            Object candidate = tableKeys[index];
+            if (candidate == key || key.equals(candidate)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the key in the old table if it has not been moved yet, or -1
+     */
+    private int findOldSlot(Object key, int hash) {
+        if (oldKeys == null) {
+            return -1;
+        }
+        int index = findSlot(oldKeys, oldProbes, key, hash);
+        return index >= migrateIndex ? index : -1;
+    }
+
+    /**
+     * Places a key known to be absent into the current table
+     */
+    private void insertNew(Object key, Object value, int hash) {
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        int distance = 1;
+
+        while (probes[index] != 0) {
+            if (probes[index] < distance) {
+                // The resident is closer to home than we are: take its slot and move it on
+                Object displacedKey = keys[index];
+                Object displacedValue = values[index];
+                int displacedDistance = probes[index];
+                keys[index] = key;
+                values[index] = value;
+                probes[index] = distance;
+                key = displacedKey;
+                value = displacedValue;
+                distance = displacedDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        probes[index] = distance;
+    }
+
+    /**
+     * Empties a slot of the current table by shifting the following cluster back one slot
+     */
+    private void removeSlot(int index) {
+        int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+        while (probes[next] > 1) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            probes[index] = probes[next] - 1;
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        probes[index] = 0;
+    }
+
+    /**
+     * Starts growing into a table twice the current size
+     */
+    private void startGrowing() {
+        oldKeys = keys;
+        oldValues = values;
+        oldProbes = probes;
+        migrateIndex = 0;
+        allocate(keys.length * 2);
+    }
+
+    /**
+     * Moves the next few old slots into the current table
+     */
+    private void migrateStep() {
+        if (oldKeys == null) {
+            return;
+        }
+        int end = Math.min(oldKeys.length, migrateIndex + MIGRATION_STEP);
+        for (; migrateIndex < end; migrateIndex++) {
+            Object key = oldKeys[migrateIndex];
+            if (oldProbes[migrateIndex] != 0 && key != TOMBSTONE) {
+                insertNew(key, oldValues[migrateIndex], hash(key));
+            }
+        }
+        if (migrateIndex == oldKeys.length) {
+            oldKeys = null;
+            oldValues = null;
+            oldProbes = null;
+        }
+    }
+
+    /**
+     * Associates the value with the key and returns the previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        checkKey(key);
+        int hash = hash(key);
+        migrateStep();
+
+        int index = findSlot(keys, probes, key, hash);
+        if (index >= 0) {
+            V previous = (V) values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        int oldIndex = findOldSlot(key, hash);
+        if (oldIndex >= 0) {
+            // Move the entry over now instead of updating it in the old table
+            V previous = (V) oldValues[oldIndex];
+            oldKeys[oldIndex] = TOMBSTONE;
+            oldValues[oldIndex] = null;
+            insertNew(key, value, hash);
+            return previous;
+        }
+
+        if (entryCount + 1 > threshold) {
+            // Never grow twice at once: finish the previous migration first
+            while (oldKeys != null) {
+                migrateStep();
+            }
+            startGrowing();
+        }
+        insertNew(key, value, hash);
+        entryCount++;
+        return null;
+    }
+
+    /**
+     * Returns the value for the key, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = hash(key);
+        int index = findSlot(keys, probes, key, hash);
+        if (index >= 0) {
+            return (V) values[index];
+        }
+        int oldIndex = findOldSlot(key, hash);
+        return oldIndex >= 0 ? (V) oldValues[oldIndex] : null;
+    }
+
+    /**
+     * Returns true if the map has an entry for the key
+     */
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        int hash = hash(key);
+        return findSlot(keys, probes, key, hash) >= 0 || findOldSlot(key, hash) >= 0;
+    }
+
+    /**
+     * Removes the entry for the key and returns its value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = hash(key);
+        migrateStep();
+
+        int index = findSlot(keys, probes, key, hash);
+        if (index >= 0) {
+            V previous = (V) values[index];
+            removeSlot(index);
+            entryCount--;
+            return previous;
+        }
+
+        int oldIndex = findOldSlot(key, hash);
+        if (oldIndex >= 0) {
+            V previous = (V) oldValues[oldIndex];
+            oldKeys[oldIndex] = TOMBSTONE;
+            oldValues[oldIndex] = null;
+            entryCount--;
+            return previous;
+        }
+        return null;
+    }
+
+    /**
+     * Calls the action for every entry
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (probes[i] != 0) {
+                action.accept((K) keys[i], (V) values[i]);
+            }
+        }
+        if (oldKeys != null) {
+            for (int i = migrateIndex; i < oldKeys.length; i++) {
+                if (oldProbes[i] != 0 && oldKeys[i] != TOMBSTONE) {
+                    action.accept((K) oldKeys[i], (V) oldValues[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over the keys. The map must not be modified while iterating.
+     */
+    public Iterator<K> keyIterator() {
+        return new Iterator<K>() {
+            // Position across the current table followed by the unmoved part of the old one
+            private int cursor = -1;
+            private final int currentLength = keys.length;
+
+            {
+                advance();
+            }
+
+            private void advance() {
+                cursor++;
+                while (cursor < currentLength && probes[cursor] == 0) {
+                    cursor++;
+                }
+                if (cursor >= currentLength && oldKeys != null) {
+                    int oldCursor = Math.max(cursor - currentLength, migrateIndex);
+                    while (oldCursor < oldKeys.length
+                            && (oldProbes[oldCursor] == 0 || oldKeys[oldCursor] == TOMBSTONE)) {
+                        oldCursor++;
+                    }
+                    cursor = currentLength + oldCursor;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                int total = currentLength + (oldKeys != null ? oldKeys.length : 0);
+                return cursor < total;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public K next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                K key = cursor < currentLength ? (K) keys[cursor] : (K) oldKeys[cursor - currentLength];
+                advance();
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Removes all entries, keeping the current capacity
+     */
+    public void clear() {
+        allocate(keys.length);
+        oldKeys = null;
+        oldValues = null;
+        oldProbes = null;
+        entryCount = 0;
+    }
+
+    /**
+     * Returns the number of entries
+     */
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * Checks if the map is empty
+     */
+    public boolean isEmpty() {
+        return entryCount == 0;
+    }
+
+    /**
+     * Returns an estimate of the heap bytes used by the tables, not counting keys and values
+     */
+    public long memoryFootprint() {
+        long size = MyMemoryEstimator.objectSize(6 * MyMemoryEstimator.REFERENCE + 4 * 4)
+                + 2 * MyMemoryEstimator.referenceArraySize(keys.length)
+                + MyMemoryEstimator.arraySize(keys.length, Integer.BYTES);
+        if (oldKeys != null) {
+            size += 2 * MyMemoryEstimator.referenceArraySize(oldKeys.length)
+                    + MyMemoryEstimator.arraySize(oldKeys.length, Integer.BYTES);
+        }
+        return size;
+    }
+
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null keys are not supported");
+        }
+    }
+}
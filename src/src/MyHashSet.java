@@ -0,0 +1,81 @@
+import java.util.Iterator;
+
+/**
+ * A hash set backed by MyHashMap, so it shares its Robin Hood probing and incremental growth.
+ * @param <E> the type of elements stored in this set
+ */
+public class MyHashSet<E> implements Iterable<E> {
+    // Value stored for every key of the backing map
+    private static final Object PRESENT = new Object();
+
+    // Backing map; the elements are its keys
+    private final MyHashMap<E, Object> map;
+
+    /**
+     * Creates an empty set with default capacity and load factor
+     */
+    public MyHashSet() {
+        map = new MyHashMap<>();
+    }
+
+    /**
+     * Creates an empty set that holds expectedSize elements before growing
+     */
+    public MyHashSet(int expectedSize, float loadFactor) {
+        map = new MyHashMap<>(expectedSize, loadFactor);
+    }
+
+    /**
+     * Adds the element; returns false if it was already present
+     */
+    public boolean add(E element) {
+        return map.put(element, PRESENT) == null;
+    }
+
+    /**
+     * Returns true if the set contains the element
+     */
+    public boolean contains(Object element) {
+        return map.containsKey(element);
+    }
+
+    /**
+     * Removes the element; returns false if it was not present
+     */
+    public boolean remove(Object element) {
+        return map.remove(element) != null;
+    }
+
+    /**
+     * Removes all elements
+     */
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Returns the number of elements
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Checks if the set is empty
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Returns an estimate of the heap bytes used by the set, not counting the elements
+     */
+    public long memoryFootprint() {
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE) + map.memoryFootprint();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keyIterator();
+    }
+}
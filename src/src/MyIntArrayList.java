@@ -0,0 +1,341 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A growing array list that stores int values unboxed.
+ * Search and aggregate methods run over the int[] with MyIntSearch, which uses the
+ * Vector API when the JVM has jdk.incubator.vector loaded and scalar loops otherwise.
+ */
+public class MyIntArrayList implements MyList<Integer> {
+    // Default capacity for new instances
+    private static final int DEFAULT_CAPACITY = 10;
+
+    // Internal storage
+    private int[] data;
+
+    // Current number of elements
+    private int currentSize;
+
+    /**
+     * Creates an empty list with default capacity
+     */
+    public MyIntArrayList() {
+        data = new int[DEFAULT_CAPACITY];
+        currentSize = 0;
+    }
+
+    /**
+     * Creates an empty list with specified capacity
+     */
+    public MyIntArrayList(int startingCapacity) {
+        if (startingCapacity < 1) {
+            throw new IllegalArgumentException("Starting capacity must be positive");
+        }
+        data = new int[startingCapacity];
+        currentSize = 0;
+    }
+
+    /**
+     * Ensures that the internal array has enough space for adding elements
+     */
+    private void ensureCapacity() {
+        if (currentSize >= data.length) {
+            // Double the capacity when needed
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+    }
+
+    /**
+     * Appends a primitive value to the end of the list
+     */
+    public void addInt(int value) {
+        ensureCapacity();
+        data[currentSize++] = value;
+    }
+
+    /**
+     * Returns the primitive value at the specified position
+     */
+    public int getInt(int position) {
+        validateIndex(position);
+        return data[position];
+    }
+
+    @Override
+    public void add(Integer element) {
+        addInt(unbox(element));
+    }
+
+    @Override
+    public void set(int position, Integer element) {
+        validateIndex(position);
+        data[position] = unbox(element);
+    }
+
+    @Override
+    public void add(int position, Integer element) {
+        validateIndexForInsertion(position);
+        int value = unbox(element);
+        ensureCapacity();
+
+        // Shift elements to make room
+        System.arraycopy(data, position, data, position + 1, currentSize - position);
+        data[position] = value;
+        currentSize++;
+    }
+
+    @Override
+    public void addFirst(Integer element) {
+        add(0, element);
+    }
+
+    @Override
+    public void addLast(Integer element) {
+        add(element);
+    }
+
+    @Override
+    public Integer get(int position) {
+        return getInt(position);
+    }
+
+    @Override
+    public Integer getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return data[0];
+    }
+
+    @Override
+    public Integer getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return data[currentSize - 1];
+    }
+
+    @Override
+    public void remove(int position) {
+        validateIndex(position);
+
+        // Shift elements to fill the gap
+        int numToMove = currentSize - position - 1;
+        if (numToMove > 0) {
+            System.arraycopy(data, position + 1, data, position, numToMove);
+        }
+        currentSize--;
+    }
+
+    @Override
+    public void removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        remove(0);
+    }
+
+    @Override
+    public void removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        currentSize--;
+    }
+
+    @Override
+    public void sort() {
+        Arrays.sort(data, 0, currentSize);
+    }
+
+    @Override
+    public void sort(Comparator<? super Integer> comparator) {
+        if (currentSize <= 1) {
+            return;
+        }
+
+        // A custom comparator needs boxed values
+        Integer[] temp = new Integer[currentSize];
+        for (int i = 0; i < currentSize; i++) {
+            temp[i] = data[i];
+        }
+
+        Arrays.sort(temp, comparator);
+
+        for (int i = 0; i < currentSize; i++) {
+            data[i] = temp[i];
+        }
+    }
+
+    /**
+     * Returns the index of the first occurrence of the value, or -1
+     */
+    public int indexOfInt(int value) {
+        return MyIntSearch.indexOf(data, currentSize, value);
+    }
+
+    /**
+     * Returns the index of the last occurrence of the value, or -1
+     */
+    public int lastIndexOfInt(int value) {
+        return MyIntSearch.lastIndexOf(data, currentSize, value);
+    }
+
+    /**
+     * Returns how many elements are equal to the value
+     */
+    public int count(int value) {
+        return MyIntSearch.count(data, currentSize, value);
+    }
+
+    /**
+     * Returns the smallest element
+     */
+    public int min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return MyIntSearch.min(data, currentSize);
+    }
+
+    /**
+     * Returns the largest element
+     */
+    public int max() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return MyIntSearch.max(data, currentSize);
+    }
+
+    /**
+     * Returns the sum of all elements as a long, so it cannot overflow
+     */
+    public long sum() {
+        return MyIntSearch.sum(data, currentSize);
+    }
+
+    @Override
+    public int indexOf(Object target) {
+        if (!(target instanceof Integer)) {
+            return -1;
+        }
+        return indexOfInt((Integer) target);
+    }
+
+    @Override
+    public int lastIndexOf(Object target) {
+        if (!(target instanceof Integer)) {
+            return -1;
+        }
+        return lastIndexOfInt((Integer) target);
+    }
+
+    @Override
+    public boolean exists(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[currentSize];
+        for (int i = 0; i < currentSize; i++) {
+            result[i] = data[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of the elements as a primitive array
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(data, currentSize);
+    }
+
+    @Override
+    public void clear() {
+        // No references to release, just forget the elements
+        currentSize = 0;
+    }
+
+    @Override
+    public int size() {
+        return currentSize;
+    }
+
+    @Override
+    public long memoryFootprint() {
+        // Values are stored inline, so there are no element objects to count
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE + 4)
+                + MyMemoryEstimator.arraySize(data.length, Integer.BYTES);
+    }
+
+    /**
+     * Trims the backing array to the number of elements
+     */
+    @Override
+    public void compact() {
+        // Keep at least one slot so doubling still works
+        int newCapacity = Math.max(currentSize, 1);
+        if (newCapacity < data.length) {
+            data = Arrays.copyOf(data, newCapacity);
+        }
+    }
+
+    /**
+     * Checks if the list is empty
+     */
+    private boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Rejects null, which has no primitive representation
+     */
+    private static int unbox(Integer element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Null elements are not supported");
+        }
+        return element;
+    }
+
+    /**
+     * Validates that the provided index is within bounds
+     */
+    private void validateIndex(int index) {
+        if (index < 0 || index >= currentSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+        }
+    }
+
+    /**
+     * Validates that the provided index is valid for insertion
+     */
+    private void validateIndexForInsertion(int index) {
+        if (index < 0 || index > currentSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+        }
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < currentSize;
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return data[cursor++];
+            }
+        };
+    }
+}
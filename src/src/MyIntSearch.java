@@ -0,0 +1,113 @@
+/**
+ * Search and aggregate routines over the first size values of an int array.
+ * When the JVM was started with --add-modules jdk.incubator.vector they run on the
+ * Vector API (see MyIntVectorSearch); otherwise they fall back to scalar loops.
+ * Used by MyIntArrayList, and by MyArrayList for lists of Integers.
+ */
+public final class MyIntSearch {
+    // True if the Vector API module is loaded, checked once
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private MyIntSearch() {
+    }
+
+    /**
+     * Returns true if the routines use the Vector API on this JVM
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the value, or -1
+     */
+    public static int indexOf(int[] values, int size, int value) {
+        return VECTORIZED ? MyIntVectorSearch.indexOf(values, size, value) : scalarIndexOf(values, size, value);
+    }
+
+    /**
+     * Returns the index of the last occurrence of the value, or -1
+     */
+    public static int lastIndexOf(int[] values, int size, int value) {
+        return VECTORIZED ? MyIntVectorSearch.lastIndexOf(values, size, value) : scalarLastIndexOf(values, size, value);
+    }
+
+    /**
+     * Returns how many values are equal to the value
+     */
+    public static int count(int[] values, int size, int value) {
+        return VECTORIZED ? MyIntVectorSearch.count(values, size, value) : scalarCount(values, size, value);
+    }
+
+    /**
+     * Returns the smallest value; size must be positive
+     */
+    public static int min(int[] values, int size) {
+        return VECTORIZED ? MyIntVectorSearch.min(values, size) : scalarMin(values, size);
+    }
+
+    /**
+     * Returns the largest value; size must be positive
+     */
+    public static int max(int[] values, int size) {
+        return VECTORIZED ? MyIntVectorSearch.max(values, size) : scalarMax(values, size);
+    }
+
+    /**
+     * Returns the sum of the values as a long, so it cannot overflow
+     */
+    public static long sum(int[] values, int size) {
+        return VECTORIZED ? MyIntVectorSearch.sum(values, size) : scalarSum(values, size);
+    }
+
+    static int scalarIndexOf(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int scalarLastIndexOf(int[] values, int size, int value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int scalarCount(int[] values, int size, int value) {
+        int matches = 0;
+        for (int i = 0; i < size; i++) {
+            // Branch-free so C2 can auto-vectorize the loop
+            matches += values[i] == value ? 1 : 0;
+        }
+        return matches;
+    }
+
+    static int scalarMin(int[] values, int size) {
+        int result = values[0];
+        for (int i = 1; i < size; i++) {
+            result = Math.min(result, values[i]);
+        }
+        return result;
+    }
+
+    static int scalarMax(int[] values, int size) {
+        int result = values[0];
+        for (int i = 1; i < size; i++) {
+            result = Math.max(result, values[i]);
+        }
+        return result;
+    }
+
+    static long scalarSum(int[] values, int size) {
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            result += values[i];
+        }
+        return result;
+    }
+}
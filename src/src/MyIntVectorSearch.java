@@ -0,0 +1,118 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API versions of the MyIntSearch routines. Each loop handles as many lanes per step
+ * as the CPU's preferred vector shape holds, then finishes the remainder with scalar code.
+ * Only MyIntSearch calls this class, and only when jdk.incubator.vector is in the boot layer,
+ * so the class is never loaded on a JVM started without that module.
+ */
+final class MyIntVectorSearch {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    // Same shape as INTS, so one int vector widens into two long vectors
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private MyIntVectorSearch() {
+    }
+
+    static int indexOf(int[] values, int size, int value) {
+        int lanes = INTS.length();
+        int bound = INTS.loopBound(size);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            VectorMask<Integer> matches = IntVector.fromArray(INTS, values, i).eq(value);
+            if (matches.anyTrue()) {
+                return i + matches.firstTrue();
+            }
+        }
+        for (; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOf(int[] values, int size, int value) {
+        int lanes = INTS.length();
+        int i = size;
+        for (; i >= lanes; i -= lanes) {
+            VectorMask<Integer> matches = IntVector.fromArray(INTS, values, i - lanes).eq(value);
+            if (matches.anyTrue()) {
+                return i - lanes + matches.lastTrue();
+            }
+        }
+        for (i--; i >= 0; i--) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int count(int[] values, int size, int value) {
+        int lanes = INTS.length();
+        int bound = INTS.loopBound(size);
+        int matches = 0;
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            matches += IntVector.fromArray(INTS, values, i).eq(value).trueCount();
+        }
+        for (; i < size; i++) {
+            matches += values[i] == value ? 1 : 0;
+        }
+        return matches;
+    }
+
+    static int min(int[] values, int size) {
+        int lanes = INTS.length();
+        int bound = INTS.loopBound(size);
+        IntVector minimums = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            minimums = minimums.min(IntVector.fromArray(INTS, values, i));
+        }
+        int result = minimums.reduceLanes(VectorOperators.MIN);
+        for (; i < size; i++) {
+            result = Math.min(result, values[i]);
+        }
+        return result;
+    }
+
+    static int max(int[] values, int size) {
+        int lanes = INTS.length();
+        int bound = INTS.loopBound(size);
+        IntVector maximums = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            maximums = maximums.max(IntVector.fromArray(INTS, values, i));
+        }
+        int result = maximums.reduceLanes(VectorOperators.MAX);
+        for (; i < size; i++) {
+            result = Math.max(result, values[i]);
+        }
+        return result;
+    }
+
+    static long sum(int[] values, int size) {
+        int lanes = INTS.length();
+        int bound = INTS.loopBound(size);
+        // Widen to long lanes before adding so large sums cannot overflow
+        LongVector sums = LongVector.zero(LONGS);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            IntVector chunk = IntVector.fromArray(INTS, values, i);
+            sums = sums.add(chunk.convertShape(VectorOperators.I2L, LONGS, 0))
+                    .add(chunk.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        long result = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < size; i++) {
+            result += values[i];
+        }
+        return result;
+    }
+}
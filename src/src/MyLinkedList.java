@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -29,13 +30,66 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
     // Number of elements
     private int elementCount;
 
+    // Unlinked nodes kept for reuse, chained through their next field
+    private ListNode freeNodes;
+
+    // Number of nodes currently in the free-list
+    private int freeCount;
+
+    // Maximum number of nodes kept in the free-list (0 disables recycling)
+    private final int maxFreeNodes;
+
     /**
      * Creates an empty linked list
      */
     public MyLinkedList() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty linked list that recycles up to maxFreeNodes removed nodes.
+     * Useful for stack/queue churn. The pool is not synchronized, so the list must stay
+     * confined to one thread, and iterators must not be used across removals.
+     */
+    public MyLinkedList(int maxFreeNodes) {
+        if (maxFreeNodes < 0) {
+            throw new IllegalArgumentException("Pool capacity cannot be negative");
+        }
         firstNode = null;
         lastNode = null;
         elementCount = 0;
+        this.maxFreeNodes = maxFreeNodes;
+    }
+
+    /**
+     * Returns a node holding the value, reusing a pooled one when possible
+     */
+    private ListNode obtainNode(T value) {
+        if (freeNodes == null) {
+            return new ListNode(value);
+        }
+        ListNode node = freeNodes;
+        freeNodes = node.next;
+        freeCount--;
+        node.next = null;
+        node.value = value;
+        return node;
+    }
+
+    /**
+     * Unlinks the node completely and puts it in the pool if there is room
+     */
+    private void recycleNode(ListNode node) {
+        // Help GC
+        node.value = null;
+        node.previous = null;
+        node.next = null;
+
+        if (freeCount < maxFreeNodes) {
+            node.next = freeNodes;
+            freeNodes = node;
+            freeCount++;
+        }
     }
 
     /**
@@ -68,7 +122,7 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
 
     @Override
     public void add(T element) {
-        ListNode newNode = new ListNode(element);
+        ListNode newNode = obtainNode(element);
 
         if (elementCount == 0) {
             // First element in the list
@@ -105,7 +159,7 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
             ListNode successor = findNodeAt(position);
             ListNode predecessor = successor.previous;
 
-            ListNode newNode = new ListNode(element);
+            ListNode newNode = obtainNode(element);
             newNode.next = successor;
             newNode.previous = predecessor;
 
@@ -118,7 +172,7 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
 
     @Override
     public void addFirst(T element) {
-        ListNode newNode = new ListNode(element);
+        ListNode newNode = obtainNode(element);
 
         if (elementCount == 0) {
             // First element in the list
@@ -178,9 +232,7 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
             lastNode = nodeToRemove.previous;
         }
 
-        // Help GC
-        nodeToRemove.previous = null;
-        nodeToRemove.next = null;
+        recycleNode(nodeToRemove);
 
         elementCount--;
     }
@@ -191,17 +243,15 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
             throw new NoSuchElementException("List is empty");
         }
 
+        ListNode oldFirst = firstNode;
         if (elementCount == 1) {
             // Only one element
             firstNode = lastNode = null;
         } else {
-            ListNode oldFirst = firstNode;
             firstNode = firstNode.next;
             firstNode.previous = null;
-
-            // Help GC
-            oldFirst.next = null;
         }
+        recycleNode(oldFirst);
 
         elementCount--;
     }
@@ -212,17 +262,15 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
             throw new NoSuchElementException("List is empty");
         }
 
+        ListNode oldLast = lastNode;
         if (elementCount == 1) {
             // Only one element
             firstNode = lastNode = null;
         } else {
-            ListNode oldLast = lastNode;
             lastNode = lastNode.previous;
             lastNode.next = null;
-
-            // Help GC
-            oldLast.previous = null;
         }
+        recycleNode(oldLast);
 
         elementCount--;
     }
@@ -232,32 +280,154 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
         sort(Comparator.naturalOrder());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Sorts by relinking nodes with a natural (run-detecting) merge sort.
+     * Besides a sentinel node and a fixed 64-entry array of runs it allocates nothing, and it is stable.
+     * Sorted or reverse-sorted input takes a single pass, and input made of r runs takes O(n log r).
+     * On large shuffled lists the merges chase nodes scattered across the heap, so an array sort
+     * of the values is faster there ("java Main micro sort" compares the two).
+     * If the comparator throws, the list is left unchanged, in its original order.
+     */
     @Override
     public void sort(Comparator<? super T> comparator) {
         if (elementCount <= 1) {
             return; // Already sorted
         }
 
-        // Convert to array for sorting
-        T[] tempArray = (T[]) new Comparable[elementCount];
+        ListNode head;
+        try {
+            head = mergeSortRuns(comparator);
+        } catch (RuntimeException | Error e) {
+            // The passes only rewrite next links, so the previous links still hold the original order
+            ListNode next = null;
+            for (ListNode current = lastNode; current != null; current = current.previous) {
+                current.next = next;
+                next = current;
+            }
+            throw e;
+        }
+
+        // Restore previous links, which the merge passes ignore
+        ListNode previous = null;
+        ListNode current = head;
+        while (current != null) {
+            current.previous = previous;
+            previous = current;
+            current = current.next;
+        }
+        firstNode = head;
+        lastNode = previous;
+    }
+
+    /**
+     * Sorts by copying the values into an array, sorting it and writing them back, which is
+     * how sort() worked before it relinked nodes. Kept so MyMicroBenchmarks can compare the two.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void sortByArrayCopy(Comparator<? super T> comparator) {
+        if (elementCount <= 1) {
+            return;
+        }
+        T[] values = (T[]) new Comparable[elementCount];
         ListNode current = firstNode;
         for (int i = 0; i < elementCount; i++) {
-            tempArray[i] = current.value;
+            values[i] = current.value;
             current = current.next;
         }
-
-        // Sort the array
-        java.util.Arrays.sort(tempArray, comparator);
-
-        // Copy back to linked list
+        Arrays.sort(values, comparator);
         current = firstNode;
         for (int i = 0; i < elementCount; i++) {
-            current.value = tempArray[i];
+            current.value = values[i];
             current = current.next;
         }
     }
 
+    /**
+     * Sorts the chain of next links and returns its new head. Previous links are left untouched.
+     */
+    @SuppressWarnings("unchecked")
+    private ListNode mergeSortRuns(Comparator<? super T> comparator) {
+        // Temporary head so merged runs can always be appended after a node
+        ListNode sentinel = new ListNode(null);
+
+        // Works like a binary counter: pending[k] is null or a sorted run merged from 2^k
+        // natural runs. Each new run carries upward, so runs are merged while still in cache
+        // and each merge joins runs of similar size. 64 levels hold any int-sized list.
+        // Object[] because arrays of the inner node class cannot be created.
+        Object[] pending = new Object[64];
+        ListNode rest = firstNode;
+        while (rest != null) {
+            ListNode run = rest;
+            if (rest.next != null && comparator.compare(rest.next.value, rest.value) < 0) {
+                // Strictly descending, so reversing it cannot reorder equal elements
+                ListNode reversed = null;
+                do {
+                    ListNode next = rest.next;
+                    rest.next = reversed;
+                    reversed = rest;
+                    rest = next;
+                } while (rest != null && comparator.compare(rest.value, reversed.value) < 0);
+                run = reversed;
+            } else {
+                ListNode runEnd = findRunEnd(rest, comparator);
+                rest = runEnd.next;
+                runEnd.next = null;
+            }
+
+            int level = 0;
+            while (pending[level] != null) {
+                // The pending run holds earlier elements, so it goes on the left to keep the sort stable
+                run = merge(sentinel, (ListNode) pending[level], run, comparator);
+                pending[level] = null;
+                level++;
+            }
+            pending[level] = run;
+        }
+
+        // Lower levels hold later elements, so each one is merged in on the right
+        ListNode head = null;
+        for (Object run : pending) {
+            if (run != null) {
+                head = head == null ? (ListNode) run : merge(sentinel, (ListNode) run, head, comparator);
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Merges two null-terminated runs and returns the head of the result
+     */
+    private ListNode merge(ListNode sentinel, ListNode left, ListNode right, Comparator<? super T> comparator) {
+        ListNode tail = sentinel;
+        while (left != null && right != null) {
+            // Take from the left on ties to keep the sort stable
+            if (comparator.compare(left.value, right.value) <= 0) {
+                tail.next = left;
+                left = left.next;
+            } else {
+                tail.next = right;
+                right = right.next;
+            }
+            tail = tail.next;
+        }
+        tail.next = left != null ? left : right;
+
+        ListNode head = sentinel.next;
+        sentinel.next = null;
+        return head;
+    }
+
+    /**
+     * Returns the last node of the non-decreasing run starting at the given node
+     */
+    private ListNode findRunEnd(ListNode start, Comparator<? super T> comparator) {
+        ListNode current = start;
+        while (current.next != null && comparator.compare(current.next.value, current.value) >= 0) {
+            current = current.next;
+        }
+        return current;
+    }
+
     @Override
     public int indexOf(Object target) {
         ListNode current = firstNode;
@@ -310,12 +480,11 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
 
     @Override
     public void clear() {
-        // Help GC by breaking links
+        // Help GC by breaking links, keeping what fits in the pool
         ListNode current = firstNode;
         while (current != null) {
             ListNode next = current.next;
-            current.previous = null;
-            current.next = null;
+            recycleNode(current);
             current = next;
         }
 
@@ -329,6 +498,38 @@ public class MyLinkedList<T extends Comparable<T>> implements MyList<T> {
         return elementCount;
     }
 
+    @Override
+    public long memoryFootprint() {
+        // Header + five fields; each node has value, previous, next and the implicit outer reference
+        long listSize = MyMemoryEstimator.objectSize(3 * MyMemoryEstimator.REFERENCE + 3 * 4);
+        long nodeSize = MyMemoryEstimator.objectSize(4 * MyMemoryEstimator.REFERENCE);
+        return listSize
+                + (elementCount + freeCount) * nodeSize
+                + MyMemoryEstimator.payloadSize(this);
+    }
+
+    /**
+     * Releases pooled nodes. Nodes cannot be made smaller than they are;
+     * use toCompactArrayList() for the array layout.
+     */
+    @Override
+    public void compact() {
+        freeNodes = null;
+        freeCount = 0;
+    }
+
+    /**
+     * Returns a copy of this list as an array list with no spare capacity,
+     * which needs about 4 bytes per element instead of a full node
+     */
+    public MyArrayList<T> toCompactArrayList() {
+        MyArrayList<T> result = new MyArrayList<>(Math.max(elementCount, 1));
+        for (T value : this) {
+            result.add(value);
+        }
+        return result;
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
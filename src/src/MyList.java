@@ -57,5 +57,16 @@ public interface MyList<T> extends Iterable<T> {
     /** Returns the number of elements in this list. */
     int size();
 
+    /** Returns an estimate of the heap bytes used by this list, including unused capacity and the element objects. */
+    long memoryFootprint();
+
+    /** Shrinks the internal storage to the tightest layout that still holds all elements. */
+    void compact();
+
+    /** Returns a lazy query over the elements of this list that runs all steps in a single pass. */
+    default MyQuery<T> query() {
+        return new MyQuery<>(this);
+    }
+
     // iterator() method is inherited from Iterable<T>
 }
\ No newline at end of file
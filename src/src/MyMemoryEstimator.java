@@ -0,0 +1,99 @@
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Helpers for estimating heap usage of the data structures.
+ * Assumes a 64-bit HotSpot JVM with compressed references (heaps under 32 GB),
+ * where objects have a 12-byte header, arrays a 16-byte header,
+ * references take 4 bytes and every object is padded to a multiple of 8 bytes.
+ */
+public final class MyMemoryEstimator {
+    // Header of a plain object (mark word + compressed class pointer)
+    public static final int OBJECT_HEADER = 12;
+
+    // Header of an array (object header + length)
+    public static final int ARRAY_HEADER = 16;
+
+    // Size of a compressed reference
+    public static final int REFERENCE = 4;
+
+    // Objects are aligned to this many bytes
+    private static final int ALIGNMENT = 8;
+
+    private MyMemoryEstimator() {
+    }
+
+    /**
+     * Rounds a raw size up to the object alignment
+     */
+    public static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Size of an object whose fields take fieldBytes in total
+     */
+    public static long objectSize(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    /**
+     * Size of an array with the given length and element size
+     */
+    public static long arraySize(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    /**
+     * Size of a reference array with the given length
+     */
+    public static long referenceArraySize(int length) {
+        return arraySize(length, REFERENCE);
+    }
+
+    /**
+     * Estimated size of an element object stored in a collection.
+     * Boxed primitives are exact; strings include their backing byte array (Latin-1);
+     * any other object is counted as an object with a single reference field.
+     */
+    public static long payloadSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return objectSize(8);
+        }
+        if (value instanceof Integer || value instanceof Float) {
+            return objectSize(4);
+        }
+        if (value instanceof Short || value instanceof Character) {
+            return objectSize(2);
+        }
+        if (value instanceof Byte || value instanceof Boolean) {
+            return objectSize(1);
+        }
+        if (value instanceof String) {
+            // value ref, hash, coder, hashIsZero + the byte[] itself
+            return objectSize(REFERENCE + 4 + 1 + 1) + arraySize(((String) value).length(), 1);
+        }
+        return objectSize(REFERENCE);
+    }
+
+    /**
+     * Sum of the payload sizes of the distinct elements. An object stored several times is
+     * counted once. Objects that are also reachable from elsewhere, such as cached boxes
+     * (Integer.valueOf(-128..127)) or interned strings, are still counted, so for those
+     * the result is an upper bound of what the collection keeps alive.
+     */
+    public static long payloadSize(Iterable<?> values) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long total = 0;
+        for (Object value : values) {
+            if (seen.add(value)) {
+                total += payloadSize(value);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,558 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Head-to-head timing drivers for single operations, run with "java Main micro NAME".
+ * Each case is warmed up, then timed over several rounds; the median time per operation
+ * is printed. Every case returns a value that goes into a checksum, so the JIT cannot
+ * drop the work. Use MyBenchmarkHarness for replaying mixed workloads instead.
+ */
+public class MyMicroBenchmarks {
+    /**
+     * One timed operation; returns a value derived from its work
+     */
+    private interface Case {
+        long run();
+    }
+
+    /**
+     * Operation timed on a fresh input prepared before each round
+     */
+    private interface InputCase<S> {
+        void run(S input);
+    }
+
+    /**
+     * Inserts one key into a map under test
+     */
+    private interface MapPut {
+        void put(int key);
+    }
+
+    /**
+     * Priority queue shared by the threads of the contention driver
+     */
+    private interface SharedQueue {
+        void insert(Integer value);
+
+        Integer extractMin();
+    }
+
+    // Rounds before and during measurement
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 15;
+
+    // Maps filled by maps() per implementation, after as many warm-up fills
+    private static final int MAP_ROUNDS = 5;
+
+    // Elements in the queue before contention() starts its threads
+    private static final int CONTENTION_PREFILL = 10_000;
+
+    // Builds measured per list by footprint()
+    private static final int FOOTPRINT_ROUNDS = 5;
+
+    // Sink for the values returned by cases
+    private static long checksum;
+
+    // Keeps the structure being measured by footprint() reachable across the garbage collection
+    private static Object retained;
+
+    private MyMicroBenchmarks() {
+    }
+
+    /**
+     * Runs the named driver and returns the process exit code: 0 on success, 2 for an unknown name
+     */
+    public static int run(String name) {
+        switch (name) {
+            case "search":
+                search();
+                break;
+            case "sort":
+                sort();
+                break;
+            case "footprint":
+                footprint();
+                break;
+            case "contention":
+                contention();
+                break;
+            case "adaptive":
+                adaptive();
+                break;
+            case "maps":
+                maps();
+                break;
+            default:
+                System.err.println("Unknown micro benchmark: " + name
+                        + " (expected search, sort, footprint, contention, adaptive or maps)");
+                return 2;
+        }
+        System.out.println("Checksum: " + checksum);
+        return 0;
+    }
+
+    /**
+     * Returns the median nanoseconds per operation, running the operation the given number of times per round
+     */
+    private static double time(Case operation, int repeats) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRepeated(operation, repeats);
+        }
+        double[] nanos = new double[MEASURED_ROUNDS];
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            runRepeated(operation, repeats);
+            nanos[round] = (double) (System.nanoTime() - start) / repeats;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2];
+    }
+
+    private static void runRepeated(Case operation, int repeats) {
+        long result = 0;
+        for (int i = 0; i < repeats; i++) {
+            result += operation.run();
+        }
+        checksum += result;
+    }
+
+    /**
+     * Returns the median nanoseconds of one operation on a fresh input from the factory.
+     * Preparing the input is not timed.
+     */
+    private static <S> double timeOnInput(Supplier<S> inputs, InputCase<S> operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            operation.run(inputs.get());
+        }
+        double[] nanos = new double[MEASURED_ROUNDS];
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            S input = inputs.get();
+            long start = System.nanoTime();
+            operation.run(input);
+            nanos[round] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[nanos.length / 2];
+    }
+
+    private static void report(String label, double nanosPerOperation) {
+        System.out.printf("  %-40s %12.1f ns/op%n", label, nanosPerOperation);
+    }
+
+    /**
+     * Searches lists of Integer ids: the element-by-element equals loop MyArrayList used to run,
+     * MyArrayList.indexOf with its unboxed view, and MyIntSearch with and without the Vector API.
+     * The searched id sits at 3/4 of the list, and is absent for count.
+     */
+    private static void search() {
+        System.out.println("Vector API loaded: " + MyIntSearch.isVectorized()
+                + (MyIntSearch.isVectorized() ? "" : " (start with --add-modules jdk.incubator.vector)"));
+        Random random = new Random(42);
+        for (int size : new int[] {1_000, 100_000, 1_000_000}) {
+            int[] ids = new int[size];
+            MyArrayList<Integer> list = new MyArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ids[i] = random.nextInt(Integer.MAX_VALUE);
+                list.add(ids[i]);
+            }
+            Object[] boxed = list.toArray();
+            Integer target = ids[size * 3 / 4];
+            int repeats = Math.max(10, 2_000_000 / size);
+
+            System.out.println("size " + size + ":");
+            report("indexOf, equals loop (previous)", time(() -> equalsIndexOf(boxed, target), repeats));
+            report("indexOf, MyArrayList", time(() -> list.indexOf(target), repeats));
+            report("indexOf, scalar int[]", time(() -> MyIntSearch.scalarIndexOf(ids, size, target), repeats));
+            report("indexOf, MyIntSearch", time(() -> MyIntSearch.indexOf(ids, size, target), repeats));
+            report("count, scalar", time(() -> MyIntSearch.scalarCount(ids, size, -1), repeats));
+            report("count, MyIntSearch", time(() -> MyIntSearch.count(ids, size, -1), repeats));
+            report("min, scalar", time(() -> MyIntSearch.scalarMin(ids, size), repeats));
+            report("min, MyIntSearch", time(() -> MyIntSearch.min(ids, size), repeats));
+            report("sum, scalar", time(() -> MyIntSearch.scalarSum(ids, size), repeats));
+            report("sum, MyIntSearch", time(() -> MyIntSearch.sum(ids, size), repeats));
+        }
+    }
+
+    /**
+     * Sorts MyLinkedLists with the node-relinking merge sort and with the previous array
+     * round-trip, on random, sorted, nearly sorted (1% of elements swapped) and reversed input
+     */
+    private static void sort() {
+        String[] shapes = {"random", "sorted", "nearly sorted", "reversed"};
+        for (int size : new int[] {1_000, 100_000, 1_000_000}) {
+            System.out.println("size " + size + ":");
+            for (String shape : shapes) {
+                Integer[] values = sortInput(shape, size, new Random(42));
+                Supplier<MyLinkedList<Integer>> inputs = () -> {
+                    MyLinkedList<Integer> list = new MyLinkedList<>();
+                    for (Integer value : values) {
+                        list.add(value);
+                    }
+                    return list;
+                };
+                double merge = timeOnInput(inputs, list -> {
+                    list.sort();
+                    checksum += list.getFirst();
+                });
+                double array = timeOnInput(inputs, list -> {
+                    list.sortByArrayCopy(Comparator.naturalOrder());
+                    checksum += list.getFirst();
+                });
+                System.out.printf("  %-14s merge sort %12.0f ns   array round-trip %12.0f ns   %5.2fx%n",
+                        shape, merge, array, array / merge);
+            }
+        }
+    }
+
+    /**
+     * Checks MyMemoryEstimator against the JVM: builds each list from 100k freshly boxed
+     * Integers and compares memoryFootprint() with the growth of the heap used after a full
+     * garbage collection. The shared rows store one Integer 100k times, which the estimate
+     * must count once. Run with a fixed heap (e.g. -Xms1g -Xmx1g) for stable numbers.
+     */
+    private static void footprint() {
+        int size = 100_000;
+        String[] names = {"MyArrayList", "MyLinkedList", "MyGapBufferList", "MyRingBufferList",
+                "MyRopeList", "MyAdaptiveList", "MySortedArrayList", "MyPersistentList", "MyIntArrayList"};
+        System.out.printf("  %-26s %12s %12s %8s%n", "list of " + size, "estimate", "measured", "error");
+        for (String name : names) {
+            measureFootprint(name, () -> {
+                MyList<Integer> list = newList(name);
+                for (int i = 0; i < size; i++) {
+                    // new Integer objects, not shared with the box cache
+                    list.add(Integer.valueOf(1_000 + i));
+                }
+                return list;
+            });
+        }
+        for (String name : new String[] {"MyArrayList", "MyLinkedList"}) {
+            measureFootprint(name + " (shared)", () -> {
+                MyList<Integer> list = newList(name);
+                Integer shared = 1_000_000;
+                for (int i = 0; i < size; i++) {
+                    list.add(shared);
+                }
+                return list;
+            });
+        }
+    }
+
+    /**
+     * Prints the estimate next to the median heap growth of several builds. A single reading
+     * can be off by a whole list when a collection misses an object that just became garbage.
+     */
+    private static void measureFootprint(String label, Supplier<MyList<Integer>> factory) {
+        long[] measurements = new long[FOOTPRINT_ROUNDS];
+        long estimate = 0;
+        for (int round = 0; round < FOOTPRINT_ROUNDS; round++) {
+            long before = usedHeapAfterGc();
+            retained = factory.get();
+            measurements[round] = usedHeapAfterGc() - before;
+            estimate = ((MyList<?>) retained).memoryFootprint();
+            retained = null;
+        }
+        Arrays.sort(measurements);
+        long measured = measurements[FOOTPRINT_ROUNDS / 2];
+        checksum += estimate;
+        System.out.printf("  %-26s %12d %12d %7.1f%%%n", label, estimate, measured,
+                100.0 * (estimate - measured) / measured);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Several collections, keeping the lowest reading, since one may leave floating garbage
+        for (int i = 0; i < 8; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private static MyList<Integer> newList(String name) {
+        switch (name) {
+            case "MyArrayList":
+                return new MyArrayList<>();
+            case "MyLinkedList":
+                return new MyLinkedList<>();
+            case "MyGapBufferList":
+                return new MyGapBufferList<>();
+            case "MyRingBufferList":
+                return new MyRingBufferList<>();
+            case "MyRopeList":
+                return new MyRopeList<>();
+            case "MyAdaptiveList":
+                return new MyAdaptiveList<>();
+            case "MySortedArrayList":
+                return new MySortedArrayList<>();
+            case "MyPersistentList":
+                return new MyPersistentList<>();
+            case "MyIntArrayList":
+                return new MyIntArrayList();
+            default:
+                throw new IllegalArgumentException("Unknown list: " + name);
+        }
+    }
+
+    /**
+     * Shares one priority queue between 1 to 64 threads that each insert a random value and
+     * then extract the minimum, and compares MyConcurrentMinHeap in relaxed and strict mode
+     * with PriorityBlockingQueue. The queue starts with CONTENTION_PREFILL elements and the
+     * threads share a fixed number of insert/extract pairs, so every row does the same work.
+     */
+    private static void contention() {
+        int pairs = 100_000;
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        for (int threads : new int[] {1, 2, 4, 8, 16, 32, 64}) {
+            System.out.println(threads + (threads == 1 ? " thread:" : " threads:"));
+            reportContention("MyConcurrentMinHeap, relaxed", threads, pairs,
+                    () -> sharedHeap(new MyConcurrentMinHeap<>(threads, false)));
+            reportContention("MyConcurrentMinHeap, strict", threads, pairs,
+                    () -> sharedHeap(new MyConcurrentMinHeap<>(threads, true)));
+            reportContention("PriorityBlockingQueue", threads, pairs,
+                    () -> sharedBlockingQueue(new PriorityBlockingQueue<>()));
+        }
+    }
+
+    private static void reportContention(String label, int threads, int pairs, Supplier<SharedQueue> factory) {
+        double nanos = timeOnInput(() -> prefilled(factory.get()), queue -> runContended(queue, threads, pairs));
+        System.out.printf("  %-40s %12.2f M ops/s%n", label, 2 * pairs / nanos * 1_000);
+    }
+
+    private static SharedQueue prefilled(SharedQueue queue) {
+        Random random = new Random(42);
+        for (int i = 0; i < CONTENTION_PREFILL; i++) {
+            queue.insert(random.nextInt(1_000_000));
+        }
+        return queue;
+    }
+
+    /**
+     * Runs the pairs spread over the threads, which all start at once, and waits for them
+     */
+    private static void runContended(SharedQueue queue, int threads, int pairs) {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong extracted = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int share = pairs / threads + (t < pairs % threads ? 1 : 0);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sum = 0;
+                for (int i = 0; i < share; i++) {
+                    queue.insert(random.nextInt(1_000_000));
+                    sum += queue.extractMin();
+                }
+                extracted.addAndGet(sum);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the contention threads", e);
+        }
+        checksum += extracted.get();
+    }
+
+    private static SharedQueue sharedHeap(MyConcurrentMinHeap<Integer> heap) {
+        return new SharedQueue() {
+            @Override
+            public void insert(Integer value) {
+                heap.insert(value);
+            }
+
+            @Override
+            public Integer extractMin() {
+                return heap.extractMin();
+            }
+        };
+    }
+
+    private static SharedQueue sharedBlockingQueue(PriorityBlockingQueue<Integer> queue) {
+        return new SharedQueue() {
+            @Override
+            public void insert(Integer value) {
+                queue.offer(value);
+            }
+
+            @Override
+            public Integer extractMin() {
+                return queue.poll();
+            }
+        };
+    }
+
+    /**
+     * Measures the unit costs behind MyAdaptiveList's cost model on lists of 10k Integers and
+     * prints them relative to one MyArrayList.get, the model's unit. The ring buffer starts
+     * wrapped around the end of its array, as it is after queue-like use.
+     */
+    private static void adaptive() {
+        int size = 10_000;
+        MyArrayList<Integer> array = new MyArrayList<>();
+        MyRingBufferList<Integer> ring = new MyRingBufferList<>();
+        for (int i = 0; i < size; i++) {
+            array.add(i);
+            ring.add(i);
+        }
+        for (int i = 0; i < size / 2; i++) {
+            ring.removeFirst();
+            ring.add(size + i);
+        }
+        int repeats = 100;
+
+        double arrayGet = time(() -> sumByIndex(array), repeats) / size;
+        double ringGet = time(() -> sumByIndex(ring), repeats) / size;
+        // Insert and remove in the middle; the array moves size / 2 elements each time,
+        // the ring buffer moves the quarter of them on the near side of index size / 4
+        double arrayShift = time(() -> insertAndRemove(array, size / 2), repeats) / 2 / (size / 2.0);
+        double ringShift = time(() -> insertAndRemove(ring, size / 4), repeats) / 2 / (size / 4.0);
+        // A target of another type keeps MyArrayList on its equals loop, as after any change
+        double arrayScan = time(() -> array.indexOf("absent"), repeats) / size;
+        double ringScan = time(() -> ring.indexOf("absent"), repeats) / size;
+        double copy = time(() -> copyInto(array, new MyRingBufferList<>()), repeats) / size;
+
+        System.out.printf("MyArrayList.get: %.2f ns per element%n", arrayGet);
+        reportRatio("WRAP_FACTOR (ring get / array get)", ringGet / arrayGet);
+        reportRatio("ring scan / array scan", ringScan / arrayScan);
+        reportRatio("SHIFT_COST (array, per element)", arrayShift / arrayGet);
+        reportRatio("RING_SHIFT_COST (ring, per element)", ringShift / arrayGet);
+        reportRatio("SCAN_COST (array, per element)", arrayScan / arrayGet);
+        reportRatio("MIGRATION_COST (per element)", copy / arrayGet);
+    }
+
+    private static void reportRatio(String label, double ratio) {
+        System.out.printf("  %-40s %8.3f%n", label, ratio);
+    }
+
+    private static long sumByIndex(MyList<Integer> list) {
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    private static long insertAndRemove(MyList<Integer> list, int index) {
+        list.add(index, index);
+        list.remove(index);
+        return list.size();
+    }
+
+    private static long copyInto(MyList<Integer> source, MyList<Integer> target) {
+        for (Integer value : source) {
+            target.add(value);
+        }
+        return target.size();
+    }
+
+    /**
+     * Fills fresh maps with 1M random int keys and reports the median time per put and the
+     * median of the slowest single put, which is where a map that rehashes everything at once
+     * pays. The maps grow from their default capacity, so every doubling is included.
+     */
+    private static void maps() {
+        int size = 1_000_000;
+        int[] keys = new Random(42).ints(size).toArray();
+        System.out.printf("  %-24s %12s %16s%n", size + " puts", "ns/put", "slowest put ns");
+        reportPuts("java.util.HashMap", keys, () -> {
+            HashMap<Integer, Integer> map = new HashMap<>();
+            return key -> map.put(key, key);
+        });
+        reportPuts("MyHashMap", keys, () -> {
+            MyHashMap<Integer, Integer> map = new MyHashMap<>();
+            return key -> map.put(key, key);
+        });
+        reportPuts("MyChainedHashMap", keys, () -> {
+            MyChainedHashMap<Integer, Integer> map = new MyChainedHashMap<>();
+            return key -> map.put(key, key);
+        });
+        reportPuts("MyIntHashMap", keys, () -> {
+            MyIntHashMap<Integer> map = new MyIntHashMap<>();
+            return key -> map.put(key, key);
+        });
+    }
+
+    private static void reportPuts(String label, int[] keys, Supplier<MapPut> maps) {
+        double[] perPut = new double[MAP_ROUNDS];
+        double[] slowest = new double[MAP_ROUNDS];
+        for (int round = -MAP_ROUNDS; round < MAP_ROUNDS; round++) {
+            // Rounds below zero are warm-up
+            MapPut map = maps.get();
+            long max = 0;
+            long total = 0;
+            for (int key : keys) {
+                long start = System.nanoTime();
+                map.put(key);
+                long elapsed = System.nanoTime() - start;
+                total += elapsed;
+                max = Math.max(max, elapsed);
+            }
+            checksum += max;
+            if (round >= 0) {
+                perPut[round] = (double) total / keys.length;
+                slowest[round] = max;
+            }
+        }
+        Arrays.sort(perPut);
+        Arrays.sort(slowest);
+        System.out.printf("  %-24s %12.1f %16.0f%n", label, perPut[MAP_ROUNDS / 2], slowest[MAP_ROUNDS / 2]);
+    }
+
+    private static Integer[] sortInput(String shape, int size, Random random) {
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            switch (shape) {
+                case "random":
+                    values[i] = random.nextInt();
+                    break;
+                case "reversed":
+                    values[i] = size - i;
+                    break;
+                default:
+                    values[i] = i;
+                    break;
+            }
+        }
+        if (shape.equals("nearly sorted")) {
+            for (int swap = 0; swap < size / 200; swap++) {
+                int a = random.nextInt(size);
+                int b = random.nextInt(size);
+                Integer value = values[a];
+                values[a] = values[b];
+                values[b] = value;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * The search MyArrayList ran before it kept an unboxed view
+     */
+    private static int equalsIndexOf(Object[] data, Object target) {
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != null && data[i].equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -39,6 +39,16 @@ public class MyMinHeap<T extends Comparable<T>> {
         return heap.size();
     }
 
+    // Returns an estimate of the heap bytes used by the heap and its elements
+    public long memoryFootprint() {
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE) + heap.memoryFootprint();
+    }
+
+    // Releases unused internal capacity
+    public void compact() {
+        heap.compact();
+    }
+
     // Restores the heap property by shifting the element at 'index' up
     private void heapifyUp(int index) {
         while (index > 0) {
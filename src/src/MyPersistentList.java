@@ -0,0 +1,504 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list backed by a 32-way bit-partitioned vector trie.
+ * Snapshots share the whole tree with the list they were taken from, so taking one is O(1).
+ * While no snapshot is outstanding, writes happen in place (transient mode); after a snapshot,
+ * the first write to a shared node copies only the path from the root to that node.
+ * @param <T> the type of elements stored in this list
+ */
+public class MyPersistentList<T extends Comparable<T>> implements MyList<T> {
+    // Number of index bits consumed per trie level
+    private static final int BITS = 5;
+
+    // Branching factor of every trie node
+    private static final int WIDTH = 1 << BITS;
+
+    // Mask selecting the child index within a node
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * Internal trie node. A node may only be modified in place by the list whose edit token it carries.
+     */
+    private static final class TrieNode {
+        final Object edit;
+        final Object[] array;
+
+        TrieNode(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    // Ownership token; nodes carrying it can be changed without copying
+    private Object edit;
+
+    // Root of the trie (all elements before the tail)
+    private TrieNode root;
+
+    // Last up to 32 elements, kept outside the trie for fast appends
+    private Object[] tail;
+
+    // Bit shift of the root level
+    private int shift;
+
+    // Number of elements
+    private int elementCount;
+
+    /**
+     * Creates an empty list
+     */
+    public MyPersistentList() {
+        edit = new Object();
+        root = new TrieNode(edit, new Object[WIDTH]);
+        tail = new Object[WIDTH];
+        shift = BITS;
+        elementCount = 0;
+    }
+
+    /**
+     * Creates a list that shares the given trie; used by snapshot()
+     */
+    private MyPersistentList(TrieNode root, Object[] tail, int shift, int elementCount) {
+        this.edit = new Object();
+        this.root = root;
+        this.tail = tail;
+        this.shift = shift;
+        this.elementCount = elementCount;
+    }
+
+    /**
+     * Returns an independent copy of this list in O(1).
+     * Both lists keep working normally; later writes to either one never affect the other.
+     */
+    public MyPersistentList<T> snapshot() {
+        MyPersistentList<T> copy = new MyPersistentList<>(root, tail.clone(), shift, elementCount);
+        // Give up ownership of the now shared nodes so our next writes copy them
+        edit = new Object();
+        return copy;
+    }
+
+    /**
+     * Returns a new version with the item appended, leaving this list unchanged
+     */
+    public MyPersistentList<T> plus(T item) {
+        MyPersistentList<T> next = snapshot();
+        next.add(item);
+        return next;
+    }
+
+    /**
+     * Returns a new version with the item at the given position replaced, leaving this list unchanged
+     */
+    public MyPersistentList<T> with(int index, T item) {
+        validateIndex(index);
+        MyPersistentList<T> next = snapshot();
+        next.set(index, item);
+        return next;
+    }
+
+    /**
+     * Index of the first element stored in the tail
+     */
+    private int tailOffset() {
+        if (elementCount < WIDTH) {
+            return 0;
+        }
+        return ((elementCount - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Returns the leaf array holding the element at the given index
+     */
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        TrieNode node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (TrieNode) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Returns the node itself if we own it, otherwise a private copy of it
+     */
+    private TrieNode editable(TrieNode node) {
+        if (node.edit == edit) {
+            return node;
+        }
+        return new TrieNode(edit, node.array.clone());
+    }
+
+    @Override
+    public void add(T item) {
+        int tailSize = elementCount - tailOffset();
+        if (tailSize < WIDTH) {
+            tail[tailSize] = item;
+            elementCount++;
+            return;
+        }
+
+        // Tail is full: move it into the trie and start a new one
+        TrieNode tailNode = new TrieNode(edit, tail);
+        tail = new Object[WIDTH];
+        tail[0] = item;
+
+        if ((elementCount >>> BITS) > (1 << shift)) {
+            // Root is full, grow the trie by one level
+            TrieNode newRoot = new TrieNode(edit, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, tailNode);
+            root = newRoot;
+            shift += BITS;
+        } else {
+            root = pushTail(shift, root, tailNode);
+        }
+        elementCount++;
+    }
+
+    /**
+     * Inserts the full tail node as the rightmost leaf of the subtree at the given level
+     */
+    private TrieNode pushTail(int level, TrieNode parent, TrieNode tailNode) {
+        TrieNode result = editable(parent);
+        int childIndex = ((elementCount - 1) >>> level) & MASK;
+        TrieNode toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            TrieNode child = (TrieNode) result.array[childIndex];
+            toInsert = child != null
+                    ? pushTail(level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        result.array[childIndex] = toInsert;
+        return result;
+    }
+
+    /**
+     * Builds a chain of single-child nodes down to the given leaf
+     */
+    private TrieNode newPath(int level, TrieNode leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        TrieNode node = new TrieNode(edit, new Object[WIDTH]);
+        node.array[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    @Override
+    public void set(int index, T item) {
+        validateIndex(index);
+        if (index >= tailOffset()) {
+            tail[index & MASK] = item;
+        } else {
+            root = doSet(shift, root, index, item);
+        }
+    }
+
+    /**
+     * Replaces the element along the path to index, copying nodes we do not own
+     */
+    private TrieNode doSet(int level, TrieNode node, int index, T item) {
+        TrieNode result = editable(node);
+        if (level == 0) {
+            result.array[index & MASK] = item;
+        } else {
+            int childIndex = (index >>> level) & MASK;
+            result.array[childIndex] = doSet(level - BITS, (TrieNode) result.array[childIndex], index, item);
+        }
+        return result;
+    }
+
+    @Override
+    public void add(int index, T item) {
+        validateIndexForInsertion(index);
+        if (index == elementCount) {
+            add(item);
+            return;
+        }
+
+        // Inserting in the middle shifts every later index, so rebuild
+        Object[] items = toArray();
+        Object[] shifted = new Object[items.length + 1];
+        System.arraycopy(items, 0, shifted, 0, index);
+        shifted[index] = item;
+        System.arraycopy(items, index, shifted, index + 1, items.length - index);
+        rebuild(shifted);
+    }
+
+    @Override
+    public void addFirst(T item) {
+        add(0, item);
+    }
+
+    @Override
+    public void addLast(T item) {
+        add(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    @Override
+    public T getFirst() {
+        if (elementCount == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(0);
+    }
+
+    @Override
+    public T getLast() {
+        if (elementCount == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(elementCount - 1);
+    }
+
+    @Override
+    public void remove(int index) {
+        validateIndex(index);
+        if (index == elementCount - 1) {
+            removeLast();
+            return;
+        }
+
+        // Removing in the middle shifts every later index, so rebuild
+        Object[] items = toArray();
+        Object[] shifted = new Object[items.length - 1];
+        System.arraycopy(items, 0, shifted, 0, index);
+        System.arraycopy(items, index + 1, shifted, index, items.length - index - 1);
+        rebuild(shifted);
+    }
+
+    @Override
+    public void removeFirst() {
+        if (elementCount == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        remove(0);
+    }
+
+    @Override
+    public void removeLast() {
+        if (elementCount == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+
+        int tailSize = elementCount - tailOffset();
+        if (elementCount == 1 || tailSize > 1) {
+            tail[tailSize - 1] = null;
+            elementCount--;
+            return;
+        }
+
+        // Tail becomes empty: pull the last leaf out of the trie
+        Object[] newTail = leafFor(elementCount - 2).clone();
+        TrieNode newRoot = popTail(shift, root);
+        if (newRoot == null) {
+            newRoot = new TrieNode(edit, new Object[WIDTH]);
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            // Root has a single child left, drop one level
+            newRoot = (TrieNode) newRoot.array[0];
+            shift -= BITS;
+        }
+        root = newRoot;
+        tail = newTail;
+        elementCount--;
+    }
+
+    /**
+     * Removes the rightmost leaf from the subtree, returning null if the subtree becomes empty
+     */
+    private TrieNode popTail(int level, TrieNode node) {
+        int childIndex = ((elementCount - 2) >>> level) & MASK;
+        if (level > BITS) {
+            TrieNode newChild = popTail(level - BITS, (TrieNode) node.array[childIndex]);
+            if (newChild == null && childIndex == 0) {
+                return null;
+            }
+            TrieNode result = editable(node);
+            result.array[childIndex] = newChild;
+            return result;
+        }
+        if (childIndex == 0) {
+            return null;
+        }
+        TrieNode result = editable(node);
+        result.array[childIndex] = null;
+        return result;
+    }
+
+    @Override
+    public void sort() {
+        sort(Comparator.naturalOrder());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        if (elementCount <= 1) {
+            return;
+        }
+        Object[] items = toArray();
+        Arrays.sort(items, (a, b) -> comparator.compare((T) a, (T) b));
+        rebuild(items);
+    }
+
+    @Override
+    public int indexOf(Object target) {
+        for (int i = 0; i < elementCount; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(WIDTH, elementCount - i);
+            for (int j = 0; j < end; j++) {
+                if (leaf[j] != null && leaf[j].equals(target)) {
+                    return i + j;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object target) {
+        for (int i = elementCount - 1; i >= 0; i--) {
+            Object value = leafFor(i)[i & MASK];
+            if (value != null && value.equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean exists(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[elementCount];
+        for (int i = 0; i < elementCount; i += WIDTH) {
+            System.arraycopy(leafFor(i), 0, result, i, Math.min(WIDTH, elementCount - i));
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the contents of this list with the given elements, using fresh nodes only
+     */
+    @SuppressWarnings("unchecked")
+    private void rebuild(Object[] items) {
+        clear();
+        for (Object item : items) {
+            add((T) item);
+        }
+    }
+
+    @Override
+    public void clear() {
+        // Never touch the old nodes, a snapshot may still be using them
+        root = new TrieNode(edit, new Object[WIDTH]);
+        tail = new Object[WIDTH];
+        shift = BITS;
+        elementCount = 0;
+    }
+
+    @Override
+    public int size() {
+        return elementCount;
+    }
+
+    /**
+     * Estimates the nodes reachable from this list. Nodes shared with snapshots are
+     * counted in full here as well, so the sum over several versions overstates the total.
+     */
+    @Override
+    public long memoryFootprint() {
+        // Header + edit, root, tail references + shift and count, the edit token and the tail
+        return MyMemoryEstimator.objectSize(3 * MyMemoryEstimator.REFERENCE + 2 * 4)
+                + MyMemoryEstimator.objectSize(0)
+                + MyMemoryEstimator.referenceArraySize(WIDTH)
+                + trieSize(root, shift)
+                + MyMemoryEstimator.payloadSize(this);
+    }
+
+    /**
+     * Estimated size of the subtree at the given level
+     */
+    private long trieSize(TrieNode node, int level) {
+        long size = MyMemoryEstimator.objectSize(2 * MyMemoryEstimator.REFERENCE)
+                + MyMemoryEstimator.referenceArraySize(WIDTH);
+        if (level > 0) {
+            for (Object child : node.array) {
+                if (child != null) {
+                    size += trieSize((TrieNode) child, level - BITS);
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Does nothing: every node is full except along the right edge, which is already minimal
+     */
+    @Override
+    public void compact() {
+    }
+
+    /**
+     * Validates that the provided index is within bounds
+     */
+    private void validateIndex(int index) {
+        if (index < 0 || index >= elementCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elementCount);
+        }
+    }
+
+    /**
+     * Validates that the provided index is valid for insertion
+     */
+    private void validateIndexForInsertion(int index) {
+        if (index < 0 || index > elementCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elementCount);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor = 0;
+            private Object[] leaf = null;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < elementCount;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // Fetch a new leaf only when crossing a 32-element boundary
+                if (leaf == null || (cursor & MASK) == 0) {
+                    leaf = leafFor(cursor);
+                }
+                return (T) leaf[cursor++ & MASK];
+            }
+        };
+    }
+}
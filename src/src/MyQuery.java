@@ -0,0 +1,322 @@
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A lazy query over the elements of a MyList.
+ * Intermediate steps (filter, map, skip, limit) only describe the work; a terminal step
+ * fuses them into a single pass over the list without building intermediate lists.
+ * Queries are immutable, so each step returns a new query and can be reused.
+ * @param <T> the type of elements produced by this query
+ */
+public class MyQuery<T> {
+    /**
+     * Receives elements pushed through the pipeline.
+     * Returning false tells the source to stop, which is how limit and findFirst short-circuit.
+     */
+    private interface Sink<T> {
+        boolean accept(T item);
+    }
+
+    /**
+     * Connects the source to the final sink through every step of the query.
+     * Returns null if the query can have no results, so the source is not read at all.
+     */
+    private interface Pipeline<T> {
+        Sink<Object> wrap(Sink<? super T> downstream);
+    }
+
+    // Number of segments per worker thread in parallel mode
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    // Lists smaller than this are always processed sequentially
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    // List the elements come from
+    private final MyList<?> source;
+
+    // Steps applied to every source element
+    private final Pipeline<T> pipeline;
+
+    // True if a step may end the pass early or depends on element order across the pass
+    private final boolean shortCircuit;
+
+    // True if terminal steps may run on the fork-join pool
+    private final boolean parallel;
+
+    /**
+     * Creates a query returning every element of the list
+     */
+    @SuppressWarnings("unchecked")
+    public MyQuery(MyList<T> source) {
+        this(source, downstream -> (Sink<Object>) downstream, false, false);
+    }
+
+    private MyQuery(MyList<?> source, Pipeline<T> pipeline, boolean shortCircuit, boolean parallel) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source list cannot be null");
+        }
+        this.source = source;
+        this.pipeline = pipeline;
+        this.shortCircuit = shortCircuit;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Keeps only the elements matching the predicate
+     */
+    public MyQuery<T> filter(Predicate<? super T> predicate) {
+        return new MyQuery<>(source,
+                downstream -> pipeline.wrap(item -> !predicate.test(item) || downstream.accept(item)),
+                shortCircuit, parallel);
+    }
+
+    /**
+     * Transforms every element with the function
+     */
+    public <R> MyQuery<R> map(Function<? super T, ? extends R> mapper) {
+        return new MyQuery<R>(source,
+                downstream -> pipeline.wrap(item -> downstream.accept(mapper.apply(item))),
+                shortCircuit, parallel);
+    }
+
+    /**
+     * Drops the first count elements
+     */
+    public MyQuery<T> skip(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        return new MyQuery<>(source, downstream -> pipeline.wrap(new Sink<T>() {
+            private int skipped = 0;
+
+            @Override
+            public boolean accept(T item) {
+                if (skipped < count) {
+                    skipped++;
+                    return true;
+                }
+                return downstream.accept(item);
+            }
+        }), true, parallel);
+    }
+
+    /**
+     * Stops after maxSize elements; the source is not read any further
+     */
+    public MyQuery<T> limit(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        if (maxSize == 0) {
+            // Nothing to take, so skip the earlier steps and the source entirely
+            return new MyQuery<>(source, downstream -> null, true, parallel);
+        }
+        return new MyQuery<>(source, downstream -> pipeline.wrap(new Sink<T>() {
+            private int taken = 0;
+
+            @Override
+            public boolean accept(T item) {
+                if (taken >= maxSize) {
+                    return false;
+                }
+                taken++;
+                return downstream.accept(item) && taken < maxSize;
+            }
+        }), true, parallel);
+    }
+
+    /**
+     * Lets collectInto and count split the work across the common fork-join pool.
+     * Only used for large MyArrayList sources without skip or limit; otherwise the query runs sequentially.
+     * Steps must then be safe to call from several threads.
+     */
+    public MyQuery<T> parallel() {
+        return new MyQuery<>(source, pipeline, shortCircuit, true);
+    }
+
+    /**
+     * Appends every result to the target list and returns it
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends MyList<? super T>> L collectInto(L target) {
+        if (canRunInParallel()) {
+            for (SegmentTask task : runSegments(false)) {
+                for (int i = 0; i < task.resultCount; i++) {
+                    target.add((T) task.results[i]);
+                }
+            }
+        } else {
+            run(item -> {
+                target.add(item);
+                return true;
+            });
+        }
+        return target;
+    }
+
+    /**
+     * Calls the action for every result, in order when sequential
+     */
+    public void forEach(Consumer<? super T> action) {
+        run(item -> {
+            action.accept(item);
+            return true;
+        });
+    }
+
+    /**
+     * Returns the number of results
+     */
+    public int count() {
+        if (canRunInParallel()) {
+            int total = 0;
+            for (SegmentTask task : runSegments(true)) {
+                total += task.resultCount;
+            }
+            return total;
+        }
+        int[] total = new int[1];
+        run(item -> {
+            total[0]++;
+            return true;
+        });
+        return total[0];
+    }
+
+    /**
+     * Returns the first result, reading no further than needed.
+     * Like Stream.findFirst, throws NullPointerException if the first result is null,
+     * since an empty Optional would look like a query without results.
+     */
+    public Optional<T> findFirst() {
+        Object[] found = new Object[1];
+        boolean[] present = new boolean[1];
+        run(item -> {
+            found[0] = item;
+            present[0] = true;
+            return false;
+        });
+        if (!present[0]) {
+            return Optional.empty();
+        }
+        @SuppressWarnings("unchecked")
+        T first = (T) found[0];
+        return Optional.of(first);
+    }
+
+    /**
+     * Returns true if any result matches the predicate, stopping at the first match
+     */
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        boolean[] matched = new boolean[1];
+        run(item -> {
+            if (predicate.test(item)) {
+                matched[0] = true;
+                return false;
+            }
+            return true;
+        });
+        return matched[0];
+    }
+
+    /**
+     * Pushes source elements through the pipeline until the list ends or a sink stops it
+     */
+    private void run(Sink<? super T> terminal) {
+        Sink<Object> head = pipeline.wrap(terminal);
+        if (head == null) {
+            return;
+        }
+        for (Object item : source) {
+            if (!head.accept(item)) {
+                break;
+            }
+        }
+    }
+
+    private boolean canRunInParallel() {
+        return parallel && !shortCircuit
+                && source instanceof MyArrayList
+                && source.size() >= PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Runs the pipeline over contiguous index ranges on the fork-join pool.
+     * Returns the finished task of each range, in source order; with countOnly set
+     * the tasks only count their results.
+     */
+    private SegmentTask[] runSegments(boolean countOnly) {
+        int size = source.size();
+        int segmentCount = ForkJoinPool.getCommonPoolParallelism() * SEGMENTS_PER_THREAD;
+        int segmentLength = (size + segmentCount - 1) / segmentCount;
+
+        SegmentTask[] tasks = new SegmentTask[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int from = Math.min(size, i * segmentLength);
+            int to = Math.min(size, from + segmentLength);
+            tasks[i] = new SegmentTask(source, pipeline, from, to, countOnly);
+        }
+
+        for (int i = 0; i < segmentCount; i++) {
+            tasks[i].fork();
+        }
+        for (int i = 0; i < segmentCount; i++) {
+            tasks[i].join();
+        }
+        return tasks;
+    }
+
+    /**
+     * Runs the pipeline over one index range of the source and collects or counts the results.
+     * Never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class SegmentTask extends RecursiveAction {
+        private final MyList<?> source;
+        private final Pipeline<?> pipeline;
+        private final int from;
+        private final int to;
+        private final boolean countOnly;
+
+        // Results of the range, left null when only counting
+        Object[] results;
+        int resultCount;
+
+        SegmentTask(MyList<?> source, Pipeline<?> pipeline, int from, int to, boolean countOnly) {
+            this.source = source;
+            this.pipeline = pipeline;
+            this.from = from;
+            this.to = to;
+            this.countOnly = countOnly;
+        }
+
+        @Override
+        protected void compute() {
+            Sink<Object> head;
+            if (countOnly) {
+                head = pipeline.wrap(item -> {
+                    resultCount++;
+                    return true;
+                });
+            } else {
+                // Every step keeps or drops elements one for one, so the range size is enough
+                Object[] buffer = new Object[to - from];
+                results = buffer;
+                head = pipeline.wrap(item -> {
+                    buffer[resultCount++] = item;
+                    return true;
+                });
+            }
+            if (head == null) {
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                head.accept(source.get(i));
+            }
+        }
+    }
+}
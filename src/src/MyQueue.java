@@ -1,5 +1,15 @@
 public class MyQueue<T extends Comparable<T>> {
-    private MyLinkedList<T> list = new MyLinkedList<>();
+    private MyLinkedList<T> list;
+
+    // Creates an empty queue
+    public MyQueue() {
+        list = new MyLinkedList<>();
+    }
+
+    // Creates an empty queue that reuses up to nodePoolSize internal nodes (single-threaded use only)
+    public MyQueue(int nodePoolSize) {
+        list = new MyLinkedList<>(nodePoolSize);
+    }
 
     // Adds an element to the end of the queue
     public void enterQueue(T item) {
@@ -33,4 +43,14 @@ public class MyQueue<T extends Comparable<T>> {
     public int size() {
         return list.size();
     }
+
+    // Returns an estimate of the heap bytes used by the queue and its elements
+    public long memoryFootprint() {
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE) + list.memoryFootprint();
+    }
+
+    // Releases unused internal capacity
+    public void compact() {
+        list.compact();
+    }
 }
@@ -0,0 +1,303 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list stored in a circular array.
+ * Adding and removing at either end takes O(1), indexed access takes O(1), and
+ * inserts or removes in the middle shift whichever side of the index is shorter.
+ * @param <T> the type of elements stored in this list
+ */
+public class MyRingBufferList<T extends Comparable<T>> implements MyList<T> {
+    // Default capacity for new instances; always a power of two
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Internal storage; length is a power of two so indexes wrap with a mask
+    private Object[] data;
+
+    // Slot of the first element
+    private int head;
+
+    // Current number of elements
+    private int currentSize;
+
+    /**
+     * Creates an empty list with default capacity
+     */
+    public MyRingBufferList() {
+        data = new Object[DEFAULT_CAPACITY];
+        head = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Maps a list index to its slot in the array
+     */
+    private int slotOf(int index) {
+        return (head + index) & (data.length - 1);
+    }
+
+    /**
+     * Ensures that the internal array has enough space for adding elements
+     */
+    private void ensureCapacity() {
+        if (currentSize == data.length) {
+            // Double the capacity and unwrap the elements to start at slot 0
+            data = copyElements(data.length * 2);
+            head = 0;
+        }
+    }
+
+    /**
+     * Returns the elements in order in a new array of the given length
+     */
+    private Object[] copyElements(int length) {
+        Object[] result = new Object[length];
+        int firstPart = Math.min(currentSize, data.length - head);
+        System.arraycopy(data, head, result, 0, firstPart);
+        System.arraycopy(data, 0, result, firstPart, currentSize - firstPart);
+        return result;
+    }
+
+    @Override
+    public void add(T item) {
+        addLast(item);
+    }
+
+    @Override
+    public void set(int index, T item) {
+        validateIndex(index);
+        data[slotOf(index)] = item;
+    }
+
+    @Override
+    public void add(int index, T item) {
+        validateIndexForInsertion(index);
+        ensureCapacity();
+
+        if (index < currentSize / 2) {
+            // Move the front part one slot to the left
+            head = (head - 1) & (data.length - 1);
+            for (int i = 0; i < index; i++) {
+                data[slotOf(i)] = data[slotOf(i + 1)];
+            }
+        } else {
+            // Move the back part one slot to the right
+            for (int i = currentSize; i > index; i--) {
+                data[slotOf(i)] = data[slotOf(i - 1)];
+            }
+        }
+        data[slotOf(index)] = item;
+        currentSize++;
+    }
+
+    @Override
+    public void addFirst(T item) {
+        ensureCapacity();
+        head = (head - 1) & (data.length - 1);
+        data[head] = item;
+        currentSize++;
+    }
+
+    @Override
+    public void addLast(T item) {
+        ensureCapacity();
+        data[slotOf(currentSize)] = item;
+        currentSize++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        return (T) data[slotOf(index)];
+    }
+
+    @Override
+    public T getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(0);
+    }
+
+    @Override
+    public T getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(currentSize - 1);
+    }
+
+    @Override
+    public void remove(int index) {
+        validateIndex(index);
+
+        if (index < currentSize / 2) {
+            // Close the hole from the front
+            for (int i = index; i > 0; i--) {
+                data[slotOf(i)] = data[slotOf(i - 1)];
+            }
+            data[head] = null;
+            head = (head + 1) & (data.length - 1);
+        } else {
+            // Close the hole from the back
+            for (int i = index; i < currentSize - 1; i++) {
+                data[slotOf(i)] = data[slotOf(i + 1)];
+            }
+            data[slotOf(currentSize - 1)] = null;
+        }
+        currentSize--;
+    }
+
+    @Override
+    public void removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        data[head] = null;
+        head = (head + 1) & (data.length - 1);
+        currentSize--;
+    }
+
+    @Override
+    public void removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        data[slotOf(currentSize - 1)] = null;
+        currentSize--;
+    }
+
+    @Override
+    public void sort() {
+        sort(Comparator.naturalOrder());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        if (currentSize <= 1) {
+            return;
+        }
+        // Unwrap so the elements are contiguous, then sort them in place
+        data = copyElements(data.length);
+        head = 0;
+        Arrays.sort(data, 0, currentSize, (a, b) -> comparator.compare((T) a, (T) b));
+    }
+
+    @Override
+    public int indexOf(Object target) {
+        for (int i = 0; i < currentSize; i++) {
+            Object element = data[slotOf(i)];
+            if (element != null && element.equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object target) {
+        for (int i = currentSize - 1; i >= 0; i--) {
+            Object element = data[slotOf(i)];
+            if (element != null && element.equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean exists(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return copyElements(currentSize);
+    }
+
+    @Override
+    public void clear() {
+        // Clear all references to help GC
+        Arrays.fill(data, null);
+        head = 0;
+        currentSize = 0;
+    }
+
+    @Override
+    public int size() {
+        return currentSize;
+    }
+
+    @Override
+    public long memoryFootprint() {
+        // Header + data reference + head and size, the backing array, and the elements
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE + 2 * 4)
+                + MyMemoryEstimator.referenceArraySize(data.length)
+                + MyMemoryEstimator.payloadSize(this);
+    }
+
+    /**
+     * Shrinks the backing array to the smallest power of two that holds the elements
+     */
+    @Override
+    public void compact() {
+        int newCapacity = Integer.highestOneBit(Math.max(currentSize, 1));
+        if (newCapacity < currentSize) {
+            newCapacity *= 2;
+        }
+        if (newCapacity < data.length) {
+            data = copyElements(newCapacity);
+            head = 0;
+        }
+    }
+
+    /**
+     * Checks if the list is empty
+     */
+    private boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Validates that the provided index is within bounds
+     */
+    private void validateIndex(int index) {
+        if (index < 0 || index >= currentSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+        }
+    }
+
+    /**
+     * Validates that the provided index is valid for insertion
+     */
+    private void validateIndexForInsertion(int index) {
+        if (index < 0 || index > currentSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < currentSize;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) data[slotOf(cursor++)];
+            }
+        };
+    }
+}
@@ -0,0 +1,472 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A list for very large sequences, stored as a balanced tree of small array chunks (a rope).
+ * The tree is a treap ordered by position, so get, set, add and remove at any index
+ * take O(log n), and whole ropes can be split and concatenated in O(log n).
+ * @param <T> the type of elements stored in this list
+ */
+public class MyRopeList<T extends Comparable<T>> implements MyList<T> {
+    // Maximum number of elements per chunk
+    private static final int CHUNK_CAPACITY = 64;
+
+    // Initial array length of a new chunk; chunks grow up to CHUNK_CAPACITY
+    private static final int INITIAL_CHUNK_LENGTH = 4;
+
+    /**
+     * Internal tree node holding one chunk of consecutive elements
+     */
+    private static final class RopeNode {
+        Object[] chunk;
+        int count;
+        int size;
+        final int priority;
+        RopeNode left;
+        RopeNode right;
+
+        RopeNode(Object[] chunk, int count) {
+            this.chunk = chunk;
+            this.count = count;
+            this.size = count;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    // Root of the tree
+    private RopeNode root;
+
+    /**
+     * Creates an empty rope
+     */
+    public MyRopeList() {
+        root = null;
+    }
+
+    private MyRopeList(RopeNode root) {
+        this.root = root;
+    }
+
+    private static int sizeOf(RopeNode node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void updateSize(RopeNode node) {
+        node.size = sizeOf(node.left) + node.count + sizeOf(node.right);
+    }
+
+    /**
+     * Joins two trees, all elements of left coming first
+     */
+    private static RopeNode merge(RopeNode left, RopeNode right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            updateSize(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        updateSize(right);
+        return right;
+    }
+
+    /**
+     * Splits a tree into the first index elements and the rest, cutting a chunk if needed.
+     * Returns {left, right}.
+     */
+    private static RopeNode[] split(RopeNode node, int index) {
+        if (node == null) {
+            return new RopeNode[] {null, null};
+        }
+        int leftSize = sizeOf(node.left);
+
+        if (index <= leftSize) {
+            RopeNode[] parts = split(node.left, index);
+            node.left = parts[1];
+            updateSize(node);
+            return new RopeNode[] {parts[0], node};
+        }
+        if (index >= leftSize + node.count) {
+            RopeNode[] parts = split(node.right, index - leftSize - node.count);
+            node.right = parts[0];
+            updateSize(node);
+            return new RopeNode[] {node, parts[1]};
+        }
+
+        // The cut falls inside this chunk: move its second part into a new node
+        int cut = index - leftSize;
+        RopeNode second = new RopeNode(Arrays.copyOfRange(node.chunk, cut, node.count), node.count - cut);
+        Arrays.fill(node.chunk, cut, node.count, null);
+        node.count = cut;
+
+        RopeNode rest = node.right;
+        node.right = null;
+        updateSize(node);
+        return new RopeNode[] {node, merge(second, rest)};
+    }
+
+    /**
+     * Splits this rope at the index: this rope keeps [0, index) and the returned rope
+     * holds [index, size). Takes O(log n).
+     */
+    public MyRopeList<T> split(int index) {
+        validateIndexForInsertion(index);
+        RopeNode[] parts = split(root, index);
+        root = parts[0];
+        return new MyRopeList<>(parts[1]);
+    }
+
+    /**
+     * Appends all elements of the other rope to this one in O(log n); the other rope is left empty
+     */
+    public void concat(MyRopeList<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot concatenate a rope with itself");
+        }
+        root = merge(root, other.root);
+        other.root = null;
+    }
+
+    /**
+     * Returns the node whose chunk holds the index; offset[0] receives the position inside the chunk
+     */
+    private RopeNode findNode(int index, int[] offset) {
+        RopeNode node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index < leftSize + node.count) {
+                offset[0] = index - leftSize;
+                return node;
+            } else {
+                index -= leftSize + node.count;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public void add(T item) {
+        add(size(), item);
+    }
+
+    @Override
+    public void set(int index, T item) {
+        validateIndex(index);
+        int[] offset = new int[1];
+        findNode(index, offset).chunk[offset[0]] = item;
+    }
+
+    @Override
+    public void add(int index, T item) {
+        validateIndexForInsertion(index);
+        if (root != null && insertIntoChunk(root, index, item)) {
+            return;
+        }
+
+        // No chunk with room at this position: start a new chunk there
+        Object[] chunk = new Object[INITIAL_CHUNK_LENGTH];
+        chunk[0] = item;
+        RopeNode[] parts = split(root, index);
+        root = merge(merge(parts[0], new RopeNode(chunk, 1)), parts[1]);
+    }
+
+    /**
+     * Inserts into the chunk covering the index if it has room; returns false if it is full
+     */
+    private boolean insertIntoChunk(RopeNode node, int index, T item) {
+        int leftSize = sizeOf(node.left);
+        boolean inserted;
+
+        if (index < leftSize) {
+            inserted = insertIntoChunk(node.left, index, item);
+        } else if (index <= leftSize + node.count) {
+            if (node.count == CHUNK_CAPACITY) {
+                return false;
+            }
+            if (node.count == node.chunk.length) {
+                node.chunk = Arrays.copyOf(node.chunk, Math.min(CHUNK_CAPACITY, node.chunk.length * 2));
+            }
+            int position = index - leftSize;
+            System.arraycopy(node.chunk, position, node.chunk, position + 1, node.count - position);
+            node.chunk[position] = item;
+            node.count++;
+            inserted = true;
+        } else {
+            inserted = node.right != null
+                    && insertIntoChunk(node.right, index - leftSize - node.count, item);
+        }
+
+        if (inserted) {
+            node.size++;
+        }
+        return inserted;
+    }
+
+    @Override
+    public void addFirst(T item) {
+        add(0, item);
+    }
+
+    @Override
+    public void addLast(T item) {
+        add(size(), item);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        int[] offset = new int[1];
+        return (T) findNode(index, offset).chunk[offset[0]];
+    }
+
+    @Override
+    public T getFirst() {
+        if (root == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(0);
+    }
+
+    @Override
+    public T getLast() {
+        if (root == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return get(size() - 1);
+    }
+
+    @Override
+    public void remove(int index) {
+        validateIndex(index);
+        root = removeAt(root, index);
+    }
+
+    /**
+     * Removes the element at the index from the subtree and returns the new subtree root
+     */
+    private RopeNode removeAt(RopeNode node, int index) {
+        int leftSize = sizeOf(node.left);
+
+        if (index < leftSize) {
+            node.left = removeAt(node.left, index);
+        } else if (index < leftSize + node.count) {
+            int position = index - leftSize;
+            System.arraycopy(node.chunk, position + 1, node.chunk, position, node.count - position - 1);
+            node.chunk[--node.count] = null;
+            if (node.count == 0) {
+                // Drop the empty chunk
+                return merge(node.left, node.right);
+            }
+        } else {
+            node.right = removeAt(node.right, index - leftSize - node.count);
+        }
+
+        node.size--;
+        return node;
+    }
+
+    @Override
+    public void removeFirst() {
+        if (root == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        remove(0);
+    }
+
+    @Override
+    public void removeLast() {
+        if (root == null) {
+            throw new NoSuchElementException("List is empty");
+        }
+        remove(size() - 1);
+    }
+
+    @Override
+    public void sort() {
+        sort(Comparator.naturalOrder());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        if (size() <= 1) {
+            return;
+        }
+        Object[] items = toArray();
+        Arrays.sort(items, (a, b) -> comparator.compare((T) a, (T) b));
+        rebuild(items);
+    }
+
+    /**
+     * Replaces the tree with full chunks holding the given elements
+     */
+    private void rebuild(Object[] items) {
+        RopeNode newRoot = null;
+        for (int from = 0; from < items.length; from += CHUNK_CAPACITY) {
+            int to = Math.min(items.length, from + CHUNK_CAPACITY);
+            newRoot = merge(newRoot, new RopeNode(Arrays.copyOfRange(items, from, to), to - from));
+        }
+        root = newRoot;
+    }
+
+    @Override
+    public int indexOf(Object target) {
+        int index = 0;
+        for (T value : this) {
+            if (value != null && value.equals(target)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object target) {
+        int found = -1;
+        int index = 0;
+        for (T value : this) {
+            if (value != null && value.equals(target)) {
+                found = index;
+            }
+            index++;
+        }
+        return found;
+    }
+
+    @Override
+    public boolean exists(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size()];
+        copyInto(root, result, 0);
+        return result;
+    }
+
+    /**
+     * Copies the subtree's elements in order into the array; returns the next free position
+     */
+    private static int copyInto(RopeNode node, Object[] target, int position) {
+        if (node == null) {
+            return position;
+        }
+        position = copyInto(node.left, target, position);
+        System.arraycopy(node.chunk, 0, target, position, node.count);
+        return copyInto(node.right, target, position + node.count);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public long memoryFootprint() {
+        // Root reference, every node with its chunk, and the elements
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE)
+                + nodesSize(root)
+                + MyMemoryEstimator.payloadSize(this);
+    }
+
+    private static long nodesSize(RopeNode node) {
+        if (node == null) {
+            return 0;
+        }
+        // chunk, left, right references + count, size, priority
+        return MyMemoryEstimator.objectSize(3 * MyMemoryEstimator.REFERENCE + 3 * 4)
+                + MyMemoryEstimator.referenceArraySize(node.chunk.length)
+                + nodesSize(node.left)
+                + nodesSize(node.right);
+    }
+
+    /**
+     * Repacks the elements into full chunks
+     */
+    @Override
+    public void compact() {
+        rebuild(toArray());
+    }
+
+    /**
+     * Validates that the provided index is within bounds
+     */
+    private void validateIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Validates that the provided index is valid for insertion
+     */
+    private void validateIndexForInsertion(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            // Ancestors still to visit, most recent last
+            private RopeNode[] stack = new RopeNode[16];
+            private int depth = 0;
+            private RopeNode current = pushLeftPath(root);
+            private int position = 0;
+
+            private RopeNode pushLeftPath(RopeNode node) {
+                while (node != null && node.left != null) {
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = node;
+                    node = node.left;
+                }
+                return node;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T value = (T) current.chunk[position++];
+                if (position == current.count) {
+                    // Chunk done, go to the next node in order
+                    position = 0;
+                    if (current.right != null) {
+                        current = pushLeftPath(current.right);
+                    } else {
+                        current = depth > 0 ? stack[--depth] : null;
+                    }
+                }
+                return value;
+            }
+        };
+    }
+}
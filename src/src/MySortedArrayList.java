@@ -0,0 +1,440 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A growing array list that always keeps its elements in sorted order.
+ * Inserts find their position with binary search and shift the tail with one arraycopy,
+ * and lookups run in O(log n) instead of scanning.
+ * @param <T> the type of elements stored in this list
+ */
+public class MySortedArrayList<T extends Comparable<T>> implements MyList<T> {
+    // Default capacity for new instances
+    private static final int DEFAULT_CAPACITY = 10;
+
+    // Internal storage, sorted by order
+    private Object[] data;
+
+    // Current number of elements
+    private int currentSize;
+
+    // Ordering of the elements
+    private Comparator<? super T> order;
+
+    /**
+     * Creates an empty list sorted by natural ordering
+     */
+    public MySortedArrayList() {
+        this(Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates an empty list sorted by the given comparator
+     */
+    public MySortedArrayList(Comparator<? super T> order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        this.order = order;
+        data = new Object[DEFAULT_CAPACITY];
+        currentSize = 0;
+    }
+
+    /**
+     * Ensures that the internal array can hold the given number of elements
+     */
+    private void ensureCapacity(int required) {
+        if (required > data.length) {
+            // Double the capacity, or more if a bulk add needs it
+            int newCapacity = Math.max(data.length * 2, required);
+            data = Arrays.copyOf(data, newCapacity);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) data[index];
+    }
+
+    /**
+     * Returns the index of the first element not less than the key
+     */
+    private int lowerBound(T key) {
+        int low = 0;
+        int high = currentSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(elementAt(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element greater than the key
+     */
+    private int upperBound(T key) {
+        int low = 0;
+        int high = currentSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(elementAt(mid), key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inserts the item at its sorted position (after any equal elements)
+     */
+    @Override
+    public void add(T item) {
+        int position = upperBound(item);
+        ensureCapacity(currentSize + 1);
+
+        // Shift elements to make room
+        System.arraycopy(data, position, data, position + 1, currentSize - position);
+        data[position] = item;
+        currentSize++;
+    }
+
+    /**
+     * Inserts all given items. The batch is sorted on its own and then merged
+     * with the existing elements in a single linear pass.
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(MyList<? extends T> items) {
+        Object[] batch = items.toArray();
+        if (batch.length == 0) {
+            return;
+        }
+        Arrays.sort(batch, (a, b) -> order.compare((T) a, (T) b));
+
+        // Merge from the back so it can be done in place
+        ensureCapacity(currentSize + batch.length);
+        int i = currentSize - 1;
+        int j = batch.length - 1;
+        int k = currentSize + batch.length - 1;
+        while (j >= 0) {
+            if (i >= 0 && order.compare(elementAt(i), (T) batch[j]) > 0) {
+                data[k--] = data[i--];
+            } else {
+                data[k--] = batch[j--];
+            }
+        }
+        currentSize += batch.length;
+    }
+
+    /**
+     * Replaces the element at the position; the new value must keep the list sorted
+     */
+    @Override
+    public void set(int position, T item) {
+        validateIndex(position);
+        checkOrderAt(position, position + 1, item);
+        data[position] = item;
+    }
+
+    /**
+     * Inserts the item at the position; the position must be where it belongs in sorted order
+     */
+    @Override
+    public void add(int position, T item) {
+        validateIndexForInsertion(position);
+        checkOrderAt(position, position, item);
+        ensureCapacity(currentSize + 1);
+
+        System.arraycopy(data, position, data, position + 1, currentSize - position);
+        data[position] = item;
+        currentSize++;
+    }
+
+    @Override
+    public void addFirst(T item) {
+        add(0, item);
+    }
+
+    @Override
+    public void addLast(T item) {
+        add(currentSize, item);
+    }
+
+    /**
+     * Throws if placing the item between data[before - 1] and data[after] would break the order
+     */
+    private void checkOrderAt(int before, int after, T item) {
+        if ((before > 0 && order.compare(elementAt(before - 1), item) > 0)
+                || (after < currentSize && order.compare(item, elementAt(after)) > 0)) {
+            throw new IllegalArgumentException("Element would break the sort order");
+        }
+    }
+
+    @Override
+    public T get(int position) {
+        validateIndex(position);
+        return elementAt(position);
+    }
+
+    @Override
+    public T getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return elementAt(0);
+    }
+
+    @Override
+    public T getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return elementAt(currentSize - 1);
+    }
+
+    @Override
+    public void remove(int position) {
+        validateIndex(position);
+
+        // Shift elements to fill the gap
+        int numToMove = currentSize - position - 1;
+        if (numToMove > 0) {
+            System.arraycopy(data, position + 1, data, position, numToMove);
+        }
+
+        // Clear the last element reference and decrement size
+        data[--currentSize] = null;
+    }
+
+    @Override
+    public void removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        remove(0);
+    }
+
+    @Override
+    public void removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("List is empty");
+        }
+        data[--currentSize] = null;
+    }
+
+    /**
+     * Switches back to natural ordering; does nothing if the list already uses it
+     */
+    @Override
+    public void sort() {
+        if (order != Comparator.naturalOrder()) {
+            sort(Comparator.naturalOrder());
+        }
+    }
+
+    /**
+     * Re-sorts the list by the comparator and keeps it as the ordering for later inserts
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        order = comparator;
+        Arrays.sort(data, 0, currentSize, (a, b) -> comparator.compare((T) a, (T) b));
+    }
+
+    /**
+     * Returns the target as an element, or null if it cannot be compared with the elements
+     */
+    @SuppressWarnings("unchecked")
+    private T asKey(Object target) {
+        if (target == null || isEmpty()) {
+            return null;
+        }
+        try {
+            T key = (T) target;
+            order.compare(elementAt(0), key);
+            return key;
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public int indexOf(Object target) {
+        T key = asKey(target);
+        if (key == null) {
+            return -1;
+        }
+        // Scan only the run of elements that compare equal
+        for (int i = lowerBound(key); i < currentSize && order.compare(elementAt(i), key) == 0; i++) {
+            if (data[i].equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object target) {
+        T key = asKey(target);
+        if (key == null) {
+            return -1;
+        }
+        for (int i = upperBound(key) - 1; i >= 0 && order.compare(elementAt(i), key) == 0; i--) {
+            if (data[i].equals(target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean exists(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * Returns the greatest element less than or equal to the key, or null if there is none
+     */
+    public T floor(T key) {
+        int position = upperBound(key) - 1;
+        return position >= 0 ? elementAt(position) : null;
+    }
+
+    /**
+     * Returns the least element greater than or equal to the key, or null if there is none
+     */
+    public T ceiling(T key) {
+        int position = lowerBound(key);
+        return position < currentSize ? elementAt(position) : null;
+    }
+
+    /**
+     * Returns the greatest element strictly less than the key, or null if there is none
+     */
+    public T lower(T key) {
+        int position = lowerBound(key) - 1;
+        return position >= 0 ? elementAt(position) : null;
+    }
+
+    /**
+     * Returns the least element strictly greater than the key, or null if there is none
+     */
+    public T higher(T key) {
+        int position = upperBound(key);
+        return position < currentSize ? elementAt(position) : null;
+    }
+
+    /**
+     * Returns how many elements lie in [fromInclusive, toExclusive)
+     */
+    public int countInRange(T fromInclusive, T toExclusive) {
+        return Math.max(0, lowerBound(toExclusive) - lowerBound(fromInclusive));
+    }
+
+    /**
+     * Returns the elements in [fromInclusive, toExclusive) as a new sorted list with the same ordering
+     */
+    public MySortedArrayList<T> range(T fromInclusive, T toExclusive) {
+        int from = lowerBound(fromInclusive);
+        int to = Math.max(from, lowerBound(toExclusive));
+
+        MySortedArrayList<T> result = new MySortedArrayList<T>(order);
+        result.ensureCapacity(to - from);
+        System.arraycopy(data, from, result.data, 0, to - from);
+        result.currentSize = to - from;
+        return result;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(data, currentSize);
+    }
+
+    @Override
+    public void clear() {
+        // Clear all references to help GC
+        for (int i = 0; i < currentSize; i++) {
+            data[i] = null;
+        }
+        currentSize = 0;
+    }
+
+    @Override
+    public int size() {
+        return currentSize;
+    }
+
+    @Override
+    public long memoryFootprint() {
+        // Header + data and comparator references + size, the backing array, and the elements
+        return MyMemoryEstimator.objectSize(2 * MyMemoryEstimator.REFERENCE + 4)
+                + MyMemoryEstimator.referenceArraySize(data.length)
+                + MyMemoryEstimator.payloadSize(this);
+    }
+
+    /**
+     * Trims the backing array to the number of elements
+     */
+    @Override
+    public void compact() {
+        int newCapacity = Math.max(currentSize, 1);
+        if (newCapacity < data.length) {
+            data = Arrays.copyOf(data, newCapacity);
+        }
+    }
+
+    /**
+     * Checks if the list is empty
+     */
+    private boolean isEmpty() {
+        return currentSize == 0;
+    }
+
+    /**
+     * Validates that the provided index is within bounds
+     */
+    private void validateIndex(int index) {
+        if (index < 0 || index >= currentSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+        }
+    }
+
+    /**
+     * Validates that the provided index is valid for insertion
+     */
+    private void validateIndexForInsertion(int index) {
+        if (index < 0 || index > currentSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < currentSize;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elementAt(cursor++);
+            }
+        };
+    }
+}
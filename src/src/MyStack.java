@@ -1,5 +1,15 @@
 public class MyStack<T extends Comparable<T>> {
-    private MyLinkedList<T> list = new MyLinkedList<>();
+    private MyLinkedList<T> list;
+
+    // Creates an empty stack
+    public MyStack() {
+        list = new MyLinkedList<>();
+    }
+
+    // Creates an empty stack that reuses up to nodePoolSize internal nodes (single-threaded use only)
+    public MyStack(int nodePoolSize) {
+        list = new MyLinkedList<>(nodePoolSize);
+    }
 
     // Pushes an element onto the top of the stack
     public void push(T item) {
@@ -33,4 +43,14 @@ public class MyStack<T extends Comparable<T>> {
     public int size() {
         return list.size();
     }
+
+    // Returns an estimate of the heap bytes used by the stack and its elements
+    public long memoryFootprint() {
+        return MyMemoryEstimator.objectSize(MyMemoryEstimator.REFERENCE) + list.memoryFootprint();
+    }
+
+    // Releases unused internal capacity
+    public void compact() {
+        list.compact();
+    }
 }
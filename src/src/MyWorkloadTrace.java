@@ -0,0 +1,168 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A fixed sequence of operations with integer arguments, replayed by MyBenchmarkHarness.
+ * Traces are generated from a seed, so the same seed always gives the same workload,
+ * and can be saved to and loaded from a text file with one "OPERATION value" per line.
+ */
+public class MyWorkloadTrace {
+    /**
+     * Kinds of operations in a trace. Each structure maps them to its own methods.
+     */
+    public enum Operation {
+        ADD,
+        GET,
+        REMOVE,
+        INSERT,
+        EXTRACT_MIN
+    }
+
+    // First line of a trace file
+    private static final String HEADER = "# workload trace v1";
+
+    // Operations and their arguments, same index
+    private final Operation[] operations;
+    private final int[] values;
+
+    private MyWorkloadTrace(Operation[] operations, int[] values) {
+        this.operations = operations;
+        this.values = values;
+    }
+
+    /**
+     * Generates a trace of the given length. The weights give the relative frequency of
+     * each operation, in Operation order; values are non-negative.
+     */
+    public static MyWorkloadTrace generate(long seed, int length, int[] weights) {
+        return generate(seed, length, new int[][] {weights});
+    }
+
+    /**
+     * Generates a trace that runs through several phases of equal length, each with its own
+     * operation weights, so a workload can change character halfway through
+     */
+    public static MyWorkloadTrace generate(long seed, int length, int[][] phases) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        if (phases == null || phases.length == 0) {
+            throw new IllegalArgumentException("Expected at least one phase");
+        }
+        Operation[] kinds = Operation.values();
+        int[] totalWeights = new int[phases.length];
+        for (int phase = 0; phase < phases.length; phase++) {
+            int[] weights = phases[phase];
+            if (weights == null || weights.length != kinds.length) {
+                throw new IllegalArgumentException("Expected " + kinds.length + " weights");
+            }
+            for (int weight : weights) {
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Weights cannot be negative");
+                }
+                totalWeights[phase] += weight;
+            }
+            if (totalWeights[phase] == 0) {
+                throw new IllegalArgumentException("At least one weight must be positive");
+            }
+        }
+
+        Random random = new Random(seed);
+        Operation[] operations = new Operation[length];
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            int phase = (int) ((long) i * phases.length / length);
+            int[] weights = phases[phase];
+            int pick = random.nextInt(totalWeights[phase]);
+            int kind = 0;
+            while (pick >= weights[kind]) {
+                pick -= weights[kind];
+                kind++;
+            }
+            operations[i] = kinds[kind];
+            values[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+        return new MyWorkloadTrace(operations, values);
+    }
+
+    /**
+     * Reads a trace written by save()
+     */
+    public static MyWorkloadTrace load(Path file) throws IOException {
+        Operation[] operations = new Operation[1024];
+        int[] values = new int[1024];
+        int length = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                if (parts.length != 2) {
+                    throw new IOException("Line " + lineNumber + ": expected \"OPERATION value\"");
+                }
+                if (length == operations.length) {
+                    operations = Arrays.copyOf(operations, length * 2);
+                    values = Arrays.copyOf(values, length * 2);
+                }
+                try {
+                    operations[length] = Operation.valueOf(parts[0]);
+                    values[length] = Integer.parseInt(parts[1]);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+                if (values[length] < 0) {
+                    throw new IOException("Line " + lineNumber + ": value cannot be negative");
+                }
+                length++;
+            }
+        }
+        return new MyWorkloadTrace(Arrays.copyOf(operations, length), Arrays.copyOf(values, length));
+    }
+
+    /**
+     * Writes the trace as text
+     */
+    public void save(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int i = 0; i < operations.length; i++) {
+                writer.write(operations[i].name() + " " + values[i]);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of operations
+     */
+    public int length() {
+        return operations.length;
+    }
+
+    /**
+     * Returns the operation at the given position
+     */
+    public Operation operationAt(int index) {
+        return operations[index];
+    }
+
+    /**
+     * Returns the argument of the operation at the given position
+     */
+    public int valueAt(int index) {
+        return values[index];
+    }
+}